@@ -0,0 +1,97 @@
+package com.springcoreplatform.io.dataset;
+
+import com.springcoreplatform.shared.city.CityStore;
+import com.springcoreplatform.shared.dto.CityDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Startup load of the cities dataset: mapping a {@link CitySnapshot}, the memory-mapped {@link CityCsvLoader} and the
+ * line-by-line {@code String.split} parse {@code CityServiceImpl.init} used before it. {@code rows} is the bundled
+ * file repeated up to that many rows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CityCsvLoaderBenchmark {
+
+    private static final Path DATASET = Paths.get("src/main/resources/assets/csv/cities.csv");
+
+    @Param({"49", "1000000"})
+    int rows;
+
+    private Path file;
+    private Path snapshot;
+    private Logger loaderLogger;
+    private Logger snapshotLogger;
+
+    @Setup
+    public void setUp() throws IOException {
+        loaderLogger = Logger.getLogger(CityCsvLoader.class.getName());
+        loaderLogger.setLevel(Level.WARNING);
+        snapshotLogger = Logger.getLogger(CitySnapshot.class.getName());
+        snapshotLogger.setLevel(Level.WARNING);
+
+        List<String> lines = Files.readAllLines(DATASET, StandardCharsets.UTF_8);
+        file = Files.createTempFile("cities-benchmark", ".csv");
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < rows; i++) {
+                writer.write(lines.get(i % lines.size()));
+                writer.write('\n');
+            }
+        }
+        snapshot = Files.createTempFile("cities-benchmark", ".snapshot");
+        CitySnapshot.write(new CityCsvLoader().load(file), file, snapshot);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(snapshot);
+    }
+
+    @Benchmark
+    public CityStore snapshot() throws IOException {
+        return CitySnapshot.read(snapshot, file, false);
+    }
+
+    @Benchmark
+    public CityStore mappedLoader() throws IOException {
+        return new CityCsvLoader().load(file);
+    }
+
+    @Benchmark
+    public List<CityDto> readLineSplit() throws IOException {
+        List<CityDto> cities = new ArrayList<>();
+        try (BufferedReader br = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                String[] cityCsv = line.split(",");
+                CityDto cityObj = new CityDto();
+                cityObj.setLatD(cityCsv[0]);
+                cityObj.setNs(cityCsv[1]);
+                cityObj.setLongD(cityCsv[2]);
+                cityObj.setEw(cityCsv[3]);
+                cityObj.setCity(cityCsv[4]);
+                cityObj.setState(cityCsv[5]);
+                cities.add(cityObj);
+            }
+        }
+        return cities;
+    }
+}
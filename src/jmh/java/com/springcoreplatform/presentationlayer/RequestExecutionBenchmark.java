@@ -0,0 +1,93 @@
+package com.springcoreplatform.presentationlayer;
+
+import com.springcoreplatform.SpringCorePlatformApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authenticated requests through the whole servlet stack at high concurrency, with Tomcat on its platform thread
+ * pool and with {@code spring.threads.virtual.enabled}. {@code /users} goes to the database on every call, the
+ * nearest-city query stays in memory.
+ * <p>
+ * The application runs on an in-memory H2 database in the benchmark JVM. The virtual mode needs Java 21; raise the
+ * client count past {@code server.tomcat.threads.max} (200) with {@code -t}, e.g. {@code -t 1000}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(400)
+@State(Scope.Benchmark)
+public class RequestExecutionBenchmark {
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"/users?limit=25", "/city/nearest?lat=41&lon=-80&k=10"})
+    public String path;
+
+    private ConfigurableApplicationContext context;
+    private URL url;
+    private String token;
+
+    @Setup
+    public void setUp() throws IOException {
+        context = new SpringApplicationBuilder(SpringCorePlatformApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--spring.devtools.restart.enabled=false",
+                        "--spring.threads.virtual.enabled=" + "virtual".equals(threads));
+
+        String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        post(base + "/users",
+                "{\"firstName\":\"Bench\",\"lastName\":\"Mark\",\"email\":\"bench@springcoreplatform.com\",\"password\":\"benchmark\"}");
+        token = post(base + "/users/login", "{\"email\":\"bench@springcoreplatform.com\",\"password\":\"benchmark\"}")
+                .getHeaderField("Authorization");
+        url = new URL(base + path);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int request() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestProperty("Authorization", token);
+        connection.setRequestProperty("Accept", "application/json");
+
+        int status = connection.getResponseCode();
+        try (InputStream body = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+            if (body != null) StreamUtils.drain(body);
+        }
+        if (status != 200) throw new IllegalStateException("GET " + path + " returned " + status);
+        return status;
+    }
+
+    private static HttpURLConnection post(String url, String json) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setRequestProperty("Content-Type", "application/json");
+        try (OutputStream body = connection.getOutputStream()) {
+            body.write(json.getBytes(StandardCharsets.UTF_8));
+        }
+        if (connection.getResponseCode() != 200) {
+            throw new IllegalStateException("POST " + url + " returned " + connection.getResponseCode());
+        }
+        return connection;
+    }
+}
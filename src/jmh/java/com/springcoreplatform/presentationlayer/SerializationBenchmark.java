@@ -0,0 +1,76 @@
+package com.springcoreplatform.presentationlayer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import com.springcoreplatform.io.dataset.CityCsvLoader;
+import com.springcoreplatform.presentationlayer.model.response.UserRest;
+import com.springcoreplatform.shared.dto.CityDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * JSON against XML response bodies for a single {@link UserRest} and for the full {@code GET /city} list, using
+ * mappers configured like the ones Spring MVC builds for its message converters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    private ObjectWriter json;
+    private ObjectWriter xml;
+    private UserRest user;
+    private List<CityDto> cities;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+        XmlMapper xmlMapper = Jackson2ObjectMapperBuilder.xml().build();
+        json = jsonMapper.writer();
+        xml = xmlMapper.writer();
+
+        user = new UserRest();
+        user.setUserId("aB3dE5gH7j");
+        user.setFirstName("John");
+        user.setLastName("Doe");
+        user.setEmail("john.doe@springcoreplatform.com");
+
+        Logger.getLogger(CityCsvLoader.class.getName()).setLevel(Level.WARNING);
+        cities = new ArrayList<>(new CityCsvLoader()
+                .load(Paths.get("src/main/resources/assets/csv/cities.csv"))
+                .asDtoList());
+    }
+
+    @Benchmark
+    public byte[] userJson() throws JsonProcessingException {
+        return json.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] userXml() throws JsonProcessingException {
+        return xml.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] citiesJson() throws JsonProcessingException {
+        return json.writeValueAsBytes(cities);
+    }
+
+    @Benchmark
+    public byte[] citiesXml() throws JsonProcessingException {
+        return xml.writeValueAsBytes(cities);
+    }
+}
@@ -0,0 +1,82 @@
+package com.springcoreplatform.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authorizing one request with a bearer token: the token parse the filter used to do on every request,
+ * the filter with caching disabled, and the filter answering from {@link VerifiedTokenCache}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthorizationFilterBenchmark {
+
+    private AnnotationConfigApplicationContext context;
+    private String token;
+    private AuthorizationFilter uncachedFilter;
+    private AuthorizationFilter cachedFilter;
+    private final FilterChain chain = (request, response) -> { };
+
+    @Setup
+    public void setUp() {
+        context = SecurityBenchmarkContext.start();
+        AppProperties appProperties = context.getBean(AppProperties.class);
+
+        token = Jwts.builder()
+                .setSubject("benchmark@springcoreplatform.com")
+                .setExpiration(new Date(System.currentTimeMillis() + SecurityConstants.EXPIRATION_TIME))
+                .signWith(SignatureAlgorithm.HS512, appProperties.getSigningKey())
+                .compact();
+
+        uncachedFilter = new AuthorizationFilter(authentication -> authentication, new VerifiedTokenCache(appProperties, 0));
+        cachedFilter = new AuthorizationFilter(authentication -> authentication, new VerifiedTokenCache(appProperties, 10000));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String parseWithSecretLookup() {
+        return Jwts.parser()
+                .setSigningKey(SecurityConstants.getTokenSecret())
+                .parseClaimsJws(token)
+                .getBody()
+                .getSubject();
+    }
+
+    @Benchmark
+    public void filterUncached(Blackhole blackhole) throws ServletException, IOException {
+        filter(uncachedFilter, blackhole);
+    }
+
+    @Benchmark
+    public void filterCached(Blackhole blackhole) throws ServletException, IOException {
+        filter(cachedFilter, blackhole);
+    }
+
+    private void filter(AuthorizationFilter filter, Blackhole blackhole) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/city");
+        request.addHeader(SecurityConstants.HEADER_STRING, SecurityConstants.TOKEN_PREFIX + token);
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+}
@@ -0,0 +1,57 @@
+package com.springcoreplatform.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token signing as done by {@link AuthenticationFilter} on login and the full verification
+ * {@link AuthorizationFilter} falls back to when a token is not in the {@link VerifiedTokenCache}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private AnnotationConfigApplicationContext context;
+    private Key signingKey;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        context = SecurityBenchmarkContext.start();
+        signingKey = context.getBean(AppProperties.class).getSigningKey();
+        token = sign();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String sign() {
+        return Jwts.builder()
+                .setSubject("benchmark@springcoreplatform.com")
+                .setExpiration(new Date(System.currentTimeMillis() + SecurityConstants.EXPIRATION_TIME))
+                .signWith(SignatureAlgorithm.HS512, signingKey)
+                .compact();
+    }
+
+    @Benchmark
+    public String parse() {
+        return Jwts.parser()
+                .setSigningKey(signingKey)
+                .parseClaimsJws(token)
+                .getBody()
+                .getSubject();
+    }
+}
@@ -0,0 +1,96 @@
+package com.springcoreplatform.security;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RateLimiter} at 64 threads, against a token bucket that locks each client's bucket, for the worst case of
+ * every thread hitting one client and for requests spread over many clients. The rate is high enough that most
+ * requests are allowed, so every call goes through the update rather than the cheap rejection path.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(64)
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark {
+
+    private static final int CLIENTS = 10_000;
+    private static final double PERMITS_PER_SECOND = 1e9;
+    private static final int BURST = 1000;
+
+    private final String[] clients = new String[CLIENTS];
+    private final RateLimiter lockFree = new RateLimiter("benchmark", PERMITS_PER_SECOND, BURST, CLIENTS * 2,
+            Duration.ofMinutes(10));
+    private final LockingRateLimiter locking = new LockingRateLimiter(PERMITS_PER_SECOND, BURST);
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < CLIENTS; i++) {
+            clients[i] = "10.0." + (i / 256) + "." + (i % 256);
+        }
+    }
+
+    @Benchmark
+    public long lockFreeOneClient() {
+        return lockFree.tryAcquire(clients[0]);
+    }
+
+    @Benchmark
+    public long lockFreeManyClients() {
+        return lockFree.tryAcquire(clients[ThreadLocalRandom.current().nextInt(CLIENTS)]);
+    }
+
+    @Benchmark
+    public long lockingOneClient() {
+        return locking.tryAcquire(clients[0]);
+    }
+
+    @Benchmark
+    public long lockingManyClients() {
+        return locking.tryAcquire(clients[ThreadLocalRandom.current().nextInt(CLIENTS)]);
+    }
+
+    /**
+     * The textbook token bucket: tokens refilled on each call while holding the bucket's monitor.
+     */
+    static final class LockingRateLimiter {
+        private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+        private final double permitsPerNano;
+        private final int burst;
+
+        LockingRateLimiter(double permitsPerSecond, int burst) {
+            this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.burst = burst;
+        }
+
+        long tryAcquire(String client) {
+            Bucket bucket = buckets.computeIfAbsent(client, key -> new Bucket(burst, System.nanoTime()));
+            synchronized (bucket) {
+                long now = System.nanoTime();
+                bucket.tokens = Math.min(burst, bucket.tokens + (now - bucket.refilledAt) * permitsPerNano);
+                bucket.refilledAt = now;
+                if (bucket.tokens < 1) return (long) ((1 - bucket.tokens) / permitsPerNano) + 1;
+                bucket.tokens -= 1;
+                return 0;
+            }
+        }
+
+        private static final class Bucket {
+            private double tokens;
+            private long refilledAt;
+
+            private Bucket(double tokens, long refilledAt) {
+                this.tokens = tokens;
+                this.refilledAt = refilledAt;
+            }
+        }
+    }
+}
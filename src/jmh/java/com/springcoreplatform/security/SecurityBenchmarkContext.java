@@ -0,0 +1,29 @@
+package com.springcoreplatform.security;
+
+import com.springcoreplatform.SpringApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Collections;
+
+/**
+ * Minimal application context holding {@link AppProperties}, so the signing key and {@link SecurityConstants} resolve
+ * the token secret the way they do in the running application.
+ */
+final class SecurityBenchmarkContext {
+
+    static final String TOKEN_SECRET = "jh5gt6dc5g41b9ju3s47";
+
+    private SecurityBenchmarkContext() {
+    }
+
+    static AnnotationConfigApplicationContext start() {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark",
+                Collections.<String, Object>singletonMap("tokenSecret", TOKEN_SECRET)));
+        context.registerBean("appProperties", AppProperties.class);
+        context.refresh();
+        new SpringApplicationContext().setApplicationContext(context);
+        return context;
+    }
+}
@@ -0,0 +1,151 @@
+package com.springcoreplatform.shared;
+
+import com.springcoreplatform.io.entity.CityEntity;
+import com.springcoreplatform.io.entity.UserEntity;
+import com.springcoreplatform.presentationlayer.model.request.UserDetailsRequestModel;
+import com.springcoreplatform.presentationlayer.model.response.UserRest;
+import com.springcoreplatform.shared.dto.CityDto;
+import com.springcoreplatform.shared.dto.UserDto;
+import com.springcoreplatform.shared.mapper.CityMapper;
+import com.springcoreplatform.shared.mapper.UserMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.BeanUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-request model conversions of {@code UserController}, {@code UserServiceImpl} and {@code CityServiceImpl}:
+ * reflective {@link BeanUtils#copyProperties}, which they used to call, against {@link UserMapper} and
+ * {@link CityMapper}. Run with {@code -prof gc} to compare allocation per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConversionBenchmark {
+
+    private UserDetailsRequestModel userRequest;
+    private UserDto userDto;
+    private UserEntity userEntity;
+    private CityDto cityDto;
+    private CityEntity cityEntity;
+
+    @Setup
+    public void setUp() {
+        userRequest = new UserDetailsRequestModel();
+        userRequest.setFirstName("John");
+        userRequest.setLastName("Doe");
+        userRequest.setEmail("john.doe@springcoreplatform.com");
+        userRequest.setPassword("secret");
+
+        userDto = new UserDto();
+        BeanUtils.copyProperties(userRequest, userDto);
+        userDto.setUserId("aB3dE5gH7j");
+
+        userEntity = new UserEntity();
+        BeanUtils.copyProperties(userDto, userEntity);
+        userEntity.setId(42);
+        userEntity.setEncryptedPassword("{bcrypt}$2a$10$abcdefghijklmnopqrstuuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ01");
+
+        cityDto = CityDto.builder().latD("41").ns("N").longD("80").ew("W").city("Youngstown").state("OH").build();
+
+        cityEntity = new CityEntity();
+        BeanUtils.copyProperties(cityDto, cityEntity);
+        cityEntity.setId(7L);
+    }
+
+    @Benchmark
+    public UserDto userRequestToDtoBeanUtils() {
+        UserDto returnValue = new UserDto();
+        BeanUtils.copyProperties(userRequest, returnValue);
+        return returnValue;
+    }
+
+    @Benchmark
+    public UserDto userRequestToDtoMapper() {
+        return UserMapper.toDto(userRequest);
+    }
+
+    @Benchmark
+    public UserEntity userDtoToEntityBeanUtils() {
+        UserEntity returnValue = new UserEntity();
+        BeanUtils.copyProperties(userDto, returnValue);
+        return returnValue;
+    }
+
+    @Benchmark
+    public UserEntity userDtoToEntityMapper() {
+        return UserMapper.toEntity(userDto);
+    }
+
+    @Benchmark
+    public UserDto userEntityToDtoBeanUtils() {
+        UserDto returnValue = new UserDto();
+        BeanUtils.copyProperties(userEntity, returnValue);
+        return returnValue;
+    }
+
+    @Benchmark
+    public UserDto userEntityToDtoMapper() {
+        return UserMapper.toDto(userEntity);
+    }
+
+    @Benchmark
+    public UserRest userDtoToRestBeanUtils() {
+        UserRest returnValue = new UserRest();
+        BeanUtils.copyProperties(userDto, returnValue);
+        return returnValue;
+    }
+
+    @Benchmark
+    public UserRest userDtoToRestMapper() {
+        return UserMapper.toRest(userDto);
+    }
+
+    @Benchmark
+    public CityEntity cityDtoToEntityBeanUtils() {
+        CityEntity returnValue = new CityEntity();
+        BeanUtils.copyProperties(cityDto, returnValue, "id");
+        return returnValue;
+    }
+
+    @Benchmark
+    public CityEntity cityDtoToEntityMapper() {
+        return CityMapper.toEntity(cityDto);
+    }
+
+    @Benchmark
+    public CityDto cityEntityToDtoBeanUtils() {
+        CityDto returnValue = new CityDto();
+        BeanUtils.copyProperties(cityEntity, returnValue);
+        return returnValue;
+    }
+
+    @Benchmark
+    public CityDto cityEntityToDtoMapper() {
+        return CityMapper.toDto(cityEntity);
+    }
+
+    /**
+     * All copies of one {@code POST /users}: request to DTO, DTO to entity, stored entity to DTO, DTO to response.
+     */
+    @Benchmark
+    public UserRest createUserBeanUtils() {
+        UserDto dto = new UserDto();
+        BeanUtils.copyProperties(userRequest, dto);
+        UserEntity entity = new UserEntity();
+        BeanUtils.copyProperties(dto, entity);
+        UserDto stored = new UserDto();
+        BeanUtils.copyProperties(entity, stored);
+        UserRest returnValue = new UserRest();
+        BeanUtils.copyProperties(stored, returnValue);
+        return returnValue;
+    }
+
+    @Benchmark
+    public UserRest createUserMapper() {
+        return UserMapper.toRest(UserMapper.toDto(UserMapper.toEntity(UserMapper.toDto(userRequest))));
+    }
+}
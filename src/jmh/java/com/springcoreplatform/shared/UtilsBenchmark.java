@@ -0,0 +1,38 @@
+package com.springcoreplatform.shared;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Random identifiers as generated for user ids, upload job ids and random cities.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UtilsBenchmark {
+
+    @Param({"10", "30"})
+    int length;
+
+    private final Utils utils = new Utils();
+
+    @Benchmark
+    public String generateId() {
+        return utils.generateId(length);
+    }
+
+    @Benchmark
+    public String generateRandomValues() {
+        return utils.generateRandomValues(length);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String generateIdContended() {
+        return utils.generateId(length);
+    }
+}
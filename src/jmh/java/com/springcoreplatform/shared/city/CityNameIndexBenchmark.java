@@ -0,0 +1,67 @@
+package com.springcoreplatform.shared.city;
+
+import com.springcoreplatform.shared.dto.CityDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One autocomplete keystroke against {@link CityNameIndex} over a million random names, for a one-letter prefix
+ * (huge match run, stops at the limit), a longer prefix and a prefix filtered by a common state or by a rare one
+ * that holds one city in ten thousand.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CityNameIndexBenchmark {
+
+    private static final String[] STATES = {"OH", "NY", "CA", "TX", "WA", "PA", "MA", "AZ", "SD", "WI"};
+
+    @Param({"1000000"})
+    int rows;
+
+    @Param({"m", "mor", "morgan"})
+    String prefix;
+
+    private CityNameIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        CityStore.Builder builder = new CityStore.Builder(rows);
+        char[] name = new char[10];
+        for (int i = 0; i < rows; i++) {
+            int length = 4 + random.nextInt(7);
+            name[0] = (char) ('A' + random.nextInt(26));
+            for (int c = 1; c < length; c++) {
+                name[c] = (char) ('a' + random.nextInt(26));
+            }
+            builder.add(random.nextFloat() * 90, random.nextFloat() * 180, (byte) 0, new String(name, 0, length),
+                    i % 10_000 == 0 ? "RI" : STATES[random.nextInt(STATES.length)]);
+        }
+        List<CityStore.Builder> parts = new ArrayList<>();
+        parts.add(builder);
+        index = new CityNameIndex(CityStore.concat(parts));
+    }
+
+    @Benchmark
+    public List<CityDto> search() {
+        return index.search(prefix, null, 10);
+    }
+
+    @Benchmark
+    public List<CityDto> searchInState() {
+        return index.search(prefix, "wa", 10);
+    }
+
+    @Benchmark
+    public List<CityDto> searchInRareState() {
+        return index.search(prefix, "ri", 10);
+    }
+}
@@ -0,0 +1,58 @@
+package com.springcoreplatform.shared.id;
+
+import com.springcoreplatform.shared.Utils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * User id generation under concurrent signups: {@link RandomIdGenerator}, which shares one {@code SecureRandom}
+ * through {@link Utils}, against the per-thread {@link TimeOrderedIdGenerator}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IdGeneratorBenchmark {
+
+    private final IdGenerator random = new RandomIdGenerator(new Utils(), 10);
+    private final IdGenerator timeOrdered = new TimeOrderedIdGenerator();
+
+    @Benchmark
+    @Threads(1)
+    public String random1() {
+        return random.generateId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String random8() {
+        return random.generateId();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public String random32() {
+        return random.generateId();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String timeOrdered1() {
+        return timeOrdered.generateId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String timeOrdered8() {
+        return timeOrdered.generateId();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public String timeOrdered32() {
+        return timeOrdered.generateId();
+    }
+}
@@ -0,0 +1,68 @@
+package com.springcoreplatform;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springcoreplatform.metrics.QueryCountFilter;
+import com.springcoreplatform.metrics.QueryCountingDataSource;
+import com.springcoreplatform.metrics.RequestStages;
+import com.springcoreplatform.metrics.TimedJsonHttpMessageConverter;
+import com.springcoreplatform.metrics.TimedXmlHttpMessageConverter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.xml.MappingJackson2XmlHttpMessageConverter;
+
+import javax.sql.DataSource;
+
+/**
+ * Replaces Spring Boot's Jackson message converters with timed ones, built the same way, and counts the SQL
+ * statements of each request unless {@code db.query-count.enabled} is false.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   MeterRegistry registry) {
+        return new TimedJsonHttpMessageConverter(objectMapper,
+                RequestStages.timer(registry, RequestStages.SERIALIZATION + "json"));
+    }
+
+    @Bean
+    public MappingJackson2XmlHttpMessageConverter mappingJackson2XmlHttpMessageConverter(Jackson2ObjectMapperBuilder builder,
+                                                                                         MeterRegistry registry) {
+        return new TimedXmlHttpMessageConverter(builder.createXmlMapper(true).build(),
+                RequestStages.timer(registry, RequestStages.SERIALIZATION + "xml"));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "db.query-count.enabled", havingValue = "true", matchIfMissing = true)
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof QueryCountingDataSource)) {
+                    return new QueryCountingDataSource((DataSource) bean);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "db.query-count.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(MeterRegistry registry,
+                                                                     @Value("${db.query-count.repeat-threshold:5}") int repeatThreshold) {
+        FilterRegistrationBean<QueryCountFilter> registration =
+                new FilterRegistrationBean<>(new QueryCountFilter(registry, repeatThreshold));
+        // ahead of Spring Security, so logins and token checks are counted too
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -5,8 +5,9 @@ import com.springcoreplatform.service.FileService;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.context.annotation.Bean;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.context.annotation.Lazy;
 
 import javax.annotation.Resource;
 
@@ -16,16 +17,19 @@ public class SpringCorePlatformApplication implements CommandLineRunner {
 	@Resource
 	FileService fileService;
 
-	public static void main(String[] args) {
-		SpringApplication.run(SpringCorePlatformApplication.class, args);
-	}
+	/**
+	 * Startup steps kept for {@code /actuator/startup} and {@link com.springcoreplatform.metrics.StartupTimelineLogger}.
+	 */
+	private static final int STARTUP_STEPS = 10000;
 
-	@Bean
-	public BCryptPasswordEncoder bCryptPasswordEncoder() {
-		return new BCryptPasswordEncoder();
+	public static void main(String[] args) {
+		SpringApplication application = new SpringApplication(SpringCorePlatformApplication.class);
+		application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS));
+		application.run(args);
 	}
 
 	@Bean
+	@Lazy(false)
 	public SpringApplicationContext springApplicationContext() {
 		return new SpringApplicationContext();
 	}
@@ -0,0 +1,58 @@
+package com.springcoreplatform;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfoHandlerMapping;
+import springfox.documentation.spring.web.plugins.WebMvcRequestHandlerProvider;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Lets Springfox 3 start next to the actuator on Spring Boot 2.6.
+ * <p>
+ * {@code spring.mvc.pathmatch.matching-strategy} switches the application's own mappings back to ant-style paths,
+ * the only kind Springfox can read, but the actuator endpoint mappings always use path patterns and make the
+ * documentation bootstrap fail on startup. Springfox offers no way to skip a handler mapping, so its request handler
+ * provider gets the path-pattern mappings removed from its list. The actuator endpoints are not part of the API
+ * documentation anyway.
+ */
+@Configuration
+public class SpringfoxActuatorConfig {
+
+    @Bean
+    public static BeanPostProcessor springfoxHandlerProviderBeanPostProcessor() {
+        return new BeanPostProcessor() {
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+                if (bean instanceof WebMvcRequestHandlerProvider) {
+                    removePathPatternMappings(getHandlerMappings(bean));
+                }
+                return bean;
+            }
+
+            private void removePathPatternMappings(List<RequestMappingInfoHandlerMapping> mappings) {
+                List<RequestMappingInfoHandlerMapping> antMappings = mappings.stream()
+                        .filter(mapping -> mapping.getPatternParser() == null)
+                        .collect(Collectors.toList());
+                mappings.clear();
+                mappings.addAll(antMappings);
+            }
+
+            @SuppressWarnings("unchecked")
+            private List<RequestMappingInfoHandlerMapping> getHandlerMappings(Object bean) {
+                Field field = ReflectionUtils.findField(bean.getClass(), "handlerMappings");
+                if (field == null) {
+                    throw new IllegalStateException("Springfox handlerMappings field not found");
+                }
+                ReflectionUtils.makeAccessible(field);
+                return (List<RequestMappingInfoHandlerMapping>) ReflectionUtils.getField(field, bean);
+            }
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package com.springcoreplatform;
+
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.annotation.PreDestroy;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+
+/**
+ * Opt-in mode, enabled with {@code spring.threads.virtual.enabled=true}, that runs every request on its own virtual
+ * thread instead of Tomcat's fixed pool, so requests blocked on JDBC or waiting for a password hash no longer cap
+ * throughput at the pool size.
+ * <p>
+ * Virtual threads need Java 21; the application is compiled for Java 8, so the executor is created reflectively and
+ * startup fails when the mode is enabled on an older runtime. Blocking paths are kept off {@code synchronized}
+ * sections that would pin the carrier thread: the PostgreSQL driver locks with {@code ReentrantLock} since 42.6,
+ * Hikari hands out connections without monitors, and BCrypt runs on the bounded password hashing pool while the
+ * request's virtual thread just parks on the result.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsConfig implements WebMvcConfigurer {
+    private static final Logger LOGGER = Logger.getLogger(VirtualThreadsConfig.class.getName());
+
+    private final ExecutorService executor = newVirtualThreadPerTaskExecutor();
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadsProtocolHandlerCustomizer() {
+        LOGGER.info("Tomcat requests run on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    /**
+     * Streaming and other async MVC responses, such as the NDJSON city stream, are written on virtual threads too.
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(new TaskExecutorAdapter(executor));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("spring.threads.virtual.enabled requires Java 21 or newer, running on "
+                    + System.getProperty("java.version"), e);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Could not create the virtual thread executor", e);
+        }
+    }
+}
@@ -21,6 +21,33 @@ public class AppExceptionHandler {
         return new ResponseEntity<>(errorMessage, new HttpHeaders(), HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    @ExceptionHandler(value = {CityServiceException.class})
+    public ResponseEntity<Object> handleCityServiceException(CityServiceException ex, WebRequest request) {
+
+        ErrorMessage errorMessage = new ErrorMessage(new Date(), ex.getMessage());
+
+        return new ResponseEntity<>(errorMessage, new HttpHeaders(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(value = {FileServiceException.class})
+    public ResponseEntity<Object> handleFileServiceException(FileServiceException ex, WebRequest request) {
+
+        ErrorMessage errorMessage = new ErrorMessage(new Date(), ex.getMessage());
+
+        return new ResponseEntity<>(errorMessage, new HttpHeaders(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(value = {PasswordHashingBusyException.class})
+    public ResponseEntity<Object> handlePasswordHashingBusyException(PasswordHashingBusyException ex, WebRequest request) {
+
+        ErrorMessage errorMessage = new ErrorMessage(new Date(), ex.getMessage());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+
+        return new ResponseEntity<>(errorMessage, headers, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(value = {Exception.class})
     public ResponseEntity<Object> handleOtherExceptions(Exception ex, WebRequest request) {
 
@@ -0,0 +1,11 @@
+package com.springcoreplatform.exceptions;
+
+
+public class CityServiceException extends RuntimeException {
+
+    private static final long serialVersionUID = 3180557146217049071L;
+
+    public CityServiceException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.springcoreplatform.exceptions;
+
+
+public class FileServiceException extends RuntimeException {
+
+    private static final long serialVersionUID = -2457319641876304412L;
+
+    public FileServiceException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.springcoreplatform.exceptions;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+/**
+ * Thrown when the password hashing pool is saturated and cannot take another hash or check.
+ */
+public class PasswordHashingBusyException extends AuthenticationServiceException {
+
+    private static final long serialVersionUID = -3318562437751938422L;
+
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,225 @@
+package com.springcoreplatform.io.dataset;
+
+import com.springcoreplatform.shared.city.CityStore;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Loads {@code latD,ns,longD,ew,city,state} CSV files into a {@link CityStore}.
+ * <p>
+ * The file is split into line aligned chunks, every chunk is memory-mapped and parsed on its own thread into
+ * primitive columns, and the chunks are concatenated in file order. Malformed lines are skipped and counted.
+ */
+public class CityCsvLoader {
+
+    private static final Logger LOGGER = Logger.getLogger(CityCsvLoader.class.getName());
+    private static final int DEFAULT_CHUNK_BYTES = 32 * 1024 * 1024;
+    private static final int FIELDS = 6;
+
+    private final int parallelism;
+    private final int chunkBytes;
+
+    public CityCsvLoader() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK_BYTES);
+    }
+
+    CityCsvLoader(int parallelism, int chunkBytes) {
+        this.parallelism = Math.max(1, parallelism);
+        this.chunkBytes = Math.max(1, chunkBytes);
+    }
+
+    public CityStore load(Path path) throws IOException {
+        long start = System.nanoTime();
+        AtomicLong malformed = new AtomicLong();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long[] bounds = chunkBounds(channel);
+            List<CityStore.Builder> parts = new ArrayList<>(bounds.length - 1);
+
+            if (bounds.length == 2) {
+                parts.add(parseChunk(channel, bounds[0], bounds[1], malformed));
+            } else {
+                ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, bounds.length - 1));
+                try {
+                    List<Future<CityStore.Builder>> futures = new ArrayList<>(bounds.length - 1);
+                    for (int i = 0; i < bounds.length - 1; i++) {
+                        long from = bounds[i];
+                        long to = bounds[i + 1];
+                        futures.add(executor.submit(() -> parseChunk(channel, from, to, malformed)));
+                    }
+                    for (Future<CityStore.Builder> future : futures) {
+                        parts.add(future.get());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while loading " + path, e);
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof IOException) throw (IOException) cause;
+                    throw new IOException("Could not load " + path, cause);
+                } finally {
+                    executor.shutdownNow();
+                }
+            }
+
+            CityStore store = CityStore.concat(parts);
+
+            LOGGER.info(String.format("Cities loaded: %d from %s in %d ms using %d chunk(s), %d malformed line(s) skipped;"
+                            + " columns hold %d KiB (about %d KiB as a List<CityDto>)",
+                    store.size(), path, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), parts.size(),
+                    malformed.get(), store.footprintBytes() / 1024, store.dtoListFootprintBytes() / 1024));
+
+            return store;
+        }
+    }
+
+    private long[] chunkBounds(FileChannel channel) throws IOException {
+        long size = channel.size();
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        long position = chunkBytes;
+        while (position < size) {
+            long lineStart = nextLineStart(channel, position, probe);
+            if (lineStart >= size) break;
+            if (lineStart > bounds.get(bounds.size() - 1)) bounds.add(lineStart);
+            position = lineStart + chunkBytes;
+        }
+        bounds.add(size);
+
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = bounds.get(i);
+        }
+        return result;
+    }
+
+    private static long nextLineStart(FileChannel channel, long position, ByteBuffer probe) throws IOException {
+        long offset = position;
+        while (true) {
+            probe.clear();
+            int read = channel.read(probe, offset);
+            if (read <= 0) return channel.size();
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') return offset + i + 1;
+            }
+            offset += read;
+        }
+    }
+
+    private static CityStore.Builder parseChunk(FileChannel channel, long from, long to, AtomicLong malformed)
+            throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+        int limit = buffer.limit();
+        CityStore.Builder builder = new CityStore.Builder(limit / 24);
+
+        byte[] line = new byte[256];
+        int[] fieldStart = new int[FIELDS];
+        int[] fieldEnd = new int[FIELDS];
+        int length = 0;
+
+        for (int i = 0; i <= limit; i++) {
+            byte b = i < limit ? buffer.get(i) : (byte) '\n';
+            if (b != '\n') {
+                if (length == line.length) {
+                    byte[] grown = new byte[line.length * 2];
+                    System.arraycopy(line, 0, grown, 0, length);
+                    line = grown;
+                }
+                line[length++] = b;
+                continue;
+            }
+            if (length > 0 && line[length - 1] == '\r') length--;
+            if (length > 0 && !parseLine(line, length, fieldStart, fieldEnd, builder)) {
+                malformed.incrementAndGet();
+            }
+            length = 0;
+        }
+        return builder;
+    }
+
+    private static boolean parseLine(byte[] line, int length, int[] fieldStart, int[] fieldEnd,
+                                     CityStore.Builder builder) {
+        int field = 0;
+        fieldStart[0] = 0;
+        for (int i = 0; i < length; i++) {
+            if (line[i] == ',') {
+                if (field == FIELDS - 1) return false;
+                fieldEnd[field++] = i;
+                fieldStart[field] = i + 1;
+            }
+        }
+        if (field != FIELDS - 1) return false;
+        fieldEnd[field] = length;
+
+        for (int f = 0; f < FIELDS; f++) {
+            while (fieldStart[f] < fieldEnd[f] && line[fieldStart[f]] == ' ') fieldStart[f]++;
+            while (fieldEnd[f] > fieldStart[f] && line[fieldEnd[f] - 1] == ' ') fieldEnd[f]--;
+        }
+
+        float lat = parseDegrees(line, fieldStart[0], fieldEnd[0]);
+        float lon = parseDegrees(line, fieldStart[2], fieldEnd[2]);
+        if (Float.isNaN(lat) || Float.isNaN(lon) || fieldEnd[4] == fieldStart[4]) return false;
+
+        byte flags = 0;
+        if (fieldEnd[1] > fieldStart[1] && (line[fieldStart[1]] == 'S' || line[fieldStart[1]] == 's')) {
+            flags |= CityStore.SOUTH;
+        }
+        if (fieldEnd[3] > fieldStart[3] && (line[fieldStart[3]] == 'W' || line[fieldStart[3]] == 'w')) {
+            flags |= CityStore.WEST;
+        }
+
+        String state = new String(line, fieldStart[5], fieldEnd[5] - fieldStart[5], StandardCharsets.UTF_8);
+        builder.add(lat, lon, flags, line, fieldStart[4], fieldEnd[4] - fieldStart[4], state);
+        return true;
+    }
+
+    /**
+     * Parses an unsigned decimal such as {@code 41} or {@code 41.25}, returns NaN when the bytes are not a number.
+     */
+    static float parseDegrees(byte[] bytes, int start, int end) {
+        if (start == end) return Float.NaN;
+
+        long mantissa = 0;
+        int scale = 0;
+        boolean fraction = false;
+        int digits = 0;
+        for (int i = start; i < end; i++) {
+            byte b = bytes[i];
+            if (b >= '0' && b <= '9') {
+                if (digits < 18) {
+                    mantissa = mantissa * 10 + (b - '0');
+                    digits++;
+                    if (fraction) scale++;
+                }
+            } else if (b == '.' && !fraction) {
+                fraction = true;
+            } else {
+                return Float.NaN;
+            }
+        }
+        if (digits == 0) return Float.NaN;
+
+        double value = mantissa;
+        for (int i = 0; i < scale; i++) {
+            value /= 10;
+        }
+        return (float) value;
+    }
+}
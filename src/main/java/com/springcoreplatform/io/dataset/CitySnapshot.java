@@ -0,0 +1,281 @@
+package com.springcoreplatform.io.dataset;
+
+import com.springcoreplatform.shared.city.CityStore;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Binary snapshot of a {@link CityStore}, memory-mapped on load so no row is parsed or copied.
+ * <p>
+ * Little-endian layout: a {@value #HEADER_BYTES} byte header, then the columns, each starting on an 8 byte boundary:
+ * latitude and longitude degrees ({@code float[rows]}), hemisphere flags ({@code byte[rows]}), state codes
+ * ({@code short[rows]}), city name offsets ({@code int[rows + 1]}), the city names as one UTF-8 blob and the state
+ * table ({@code int length} and UTF-8 bytes per state).
+ * <p>
+ * The header records the size and modification time of the CSV the snapshot was built from, the snapshot's own
+ * length, a CRC32 of everything after the header and a CRC32 of the header itself. Loading checks everything except
+ * the data CRC, so it costs the same for any row count; pass {@code verifyData} to check that too.
+ */
+public final class CitySnapshot {
+
+    private static final Logger LOGGER = Logger.getLogger(CitySnapshot.class.getName());
+
+    private static final long MAGIC = 0x50414e5359544943L; // "CITYSNAP"
+    private static final int VERSION = 1;
+    static final int HEADER_BYTES = 64;
+    private static final int HEADER_CRC_OFFSET = 56;
+    // state codes are stored as unsigned shorts
+    private static final int MAX_STATES = 1 << 16;
+
+    private CitySnapshot() {
+    }
+
+    /**
+     * Maps the snapshot, or returns null when it is missing, damaged, of another format version or was built from
+     * a different version of {@code source}.
+     */
+    public static CityStore read(Path snapshot, Path source, boolean verifyData) throws IOException {
+        long start = System.nanoTime();
+        MappedByteBuffer file;
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES || channel.size() > Integer.MAX_VALUE) {
+                return rejected(snapshot, "unexpected size " + channel.size());
+            }
+            file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        file.order(ByteOrder.LITTLE_ENDIAN);
+
+        Header header = Header.read(file);
+        if (header.magic != MAGIC) return rejected(snapshot, "not a city snapshot");
+        if (header.version != VERSION) return rejected(snapshot, "format version " + header.version);
+        if (header.headerCrc != crc(file, 0, HEADER_CRC_OFFSET)) return rejected(snapshot, "header checksum mismatch");
+        if (header.fileLength != file.capacity()) return rejected(snapshot, "length does not match its header");
+        if (header.sourceSize != Files.size(source) || header.sourceModified != Files.getLastModifiedTime(source).toMillis()) {
+            return rejected(snapshot, source + " changed");
+        }
+        if (verifyData && header.dataCrc != crc(file, HEADER_BYTES, file.capacity() - HEADER_BYTES)) {
+            return rejected(snapshot, "data checksum mismatch");
+        }
+
+        CityStore store;
+        try {
+            store = map(file, header);
+        } catch (RuntimeException e) {
+            return rejected(snapshot, "malformed (" + e + ")");
+        }
+
+        LOGGER.info(String.format("Cities mapped: %d from %s in %d us", store.size(), snapshot,
+                (System.nanoTime() - start) / 1000));
+        return store;
+    }
+
+    /**
+     * Writes the store as a snapshot of {@code source}, replacing any previous snapshot atomically.
+     */
+    public static void write(CityStore store, Path source, Path snapshot) throws IOException {
+        int rows = store.size();
+        byte[][] stateBytes = new byte[store.stateCount()][];
+        int stateTableBytes = 0;
+        for (int code = 0; code < stateBytes.length; code++) {
+            stateBytes[code] = store.stateName(code).getBytes(StandardCharsets.UTF_8);
+            stateTableBytes += Integer.BYTES + stateBytes[code].length;
+        }
+        byte[][] names = new byte[rows][];
+        long nameBytes = 0;
+        for (int row = 0; row < rows; row++) {
+            names[row] = store.cityBytes(row);
+            nameBytes += names[row].length;
+        }
+
+        Layout layout = new Layout(rows, (int) nameBytes);
+        long fileLength = (long) layout.states + stateTableBytes;
+        if (nameBytes > Integer.MAX_VALUE || fileLength > Integer.MAX_VALUE) {
+            throw new IOException("City store is too large for a snapshot: " + fileLength + " bytes");
+        }
+
+        ByteBuffer file = ByteBuffer.allocate((int) fileLength).order(ByteOrder.LITTLE_ENDIAN);
+        int nameOffset = 0;
+        for (int row = 0; row < rows; row++) {
+            file.putFloat(layout.lat + row * Float.BYTES, store.latDegrees(row));
+            file.putFloat(layout.lon + row * Float.BYTES, store.longDegrees(row));
+            file.put(layout.hemispheres + row, store.hemispheres(row));
+            file.putShort(layout.stateCodes + row * Short.BYTES, (short) store.stateCode(row));
+            file.putInt(layout.nameOffsets + row * Integer.BYTES, nameOffset);
+            for (int i = 0; i < names[row].length; i++) {
+                file.put(layout.names + nameOffset + i, names[row][i]);
+            }
+            nameOffset += names[row].length;
+        }
+        file.putInt(layout.nameOffsets + rows * Integer.BYTES, nameOffset);
+        ((Buffer) file).position(layout.states);
+        for (byte[] state : stateBytes) {
+            file.putInt(state.length);
+            file.put(state);
+        }
+
+        Header header = new Header();
+        header.magic = MAGIC;
+        header.version = VERSION;
+        header.rows = rows;
+        header.stateCount = stateBytes.length;
+        header.nameBytes = nameOffset;
+        header.sourceSize = Files.size(source);
+        header.sourceModified = Files.getLastModifiedTime(source).toMillis();
+        header.fileLength = fileLength;
+        header.dataCrc = crc(file, HEADER_BYTES, (int) fileLength - HEADER_BYTES);
+        header.write(file);
+        file.putInt(HEADER_CRC_OFFSET, crc(file, 0, HEADER_CRC_OFFSET));
+
+        Path directory = snapshot.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, snapshot.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                ((Buffer) file).clear();
+                while (file.hasRemaining()) {
+                    channel.write(file);
+                }
+                channel.force(true);
+            }
+            Files.move(temporary, snapshot, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        LOGGER.info(String.format("City snapshot written: %d cities, %d KiB to %s", rows, fileLength / 1024, snapshot));
+    }
+
+    private static CityStore map(ByteBuffer file, Header header) {
+        if (header.rows < 0 || header.stateCount < 0 || header.nameBytes < 0) {
+            throw new IllegalArgumentException("negative counts");
+        }
+        Layout layout = new Layout(header.rows, header.nameBytes);
+        if (layout.states > file.capacity()) throw new IllegalArgumentException("columns exceed the file");
+
+        // the state table is only covered by the optional data checksum, so no length is trusted before allocating
+        ByteBuffer stateTable = section(file, layout.states, file.capacity() - layout.states);
+        if (header.stateCount > MAX_STATES || (long) header.stateCount * Integer.BYTES > stateTable.remaining()) {
+            throw new IllegalArgumentException(header.stateCount + " states do not fit the state table");
+        }
+        String[] states = new String[header.stateCount];
+        for (int code = 0; code < states.length; code++) {
+            int length = stateTable.getInt();
+            if (length < 0 || length > stateTable.remaining()) {
+                throw new IllegalArgumentException("state " + code + " length " + length + " exceeds the state table");
+            }
+            byte[] state = new byte[length];
+            stateTable.get(state);
+            states[code] = new String(state, StandardCharsets.UTF_8);
+        }
+
+        return CityStore.wrap(header.rows,
+                section(file, layout.lat, header.rows * Float.BYTES).asFloatBuffer(),
+                section(file, layout.lon, header.rows * Float.BYTES).asFloatBuffer(),
+                section(file, layout.hemispheres, header.rows),
+                section(file, layout.stateCodes, header.rows * Short.BYTES).asShortBuffer(),
+                states,
+                section(file, layout.names, header.nameBytes),
+                section(file, layout.nameOffsets, (header.rows + 1) * Integer.BYTES).asIntBuffer());
+    }
+
+    private static CityStore rejected(Path snapshot, String reason) {
+        LOGGER.info("Ignoring city snapshot " + snapshot + ": " + reason);
+        return null;
+    }
+
+    private static ByteBuffer section(ByteBuffer file, int offset, int length) {
+        ByteBuffer section = file.duplicate();
+        ((Buffer) section).position(offset);
+        ((Buffer) section).limit(offset + length);
+        return section.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static int crc(ByteBuffer file, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(section(file, offset, length));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Offsets of the columns after the header.
+     */
+    private static final class Layout {
+        private final int lat;
+        private final int lon;
+        private final int hemispheres;
+        private final int stateCodes;
+        private final int nameOffsets;
+        private final int names;
+        private final int states;
+
+        private Layout(int rows, int nameBytes) {
+            lat = HEADER_BYTES;
+            lon = align(lat + (long) rows * Float.BYTES);
+            hemispheres = align(lon + (long) rows * Float.BYTES);
+            stateCodes = align(hemispheres + (long) rows);
+            nameOffsets = align(stateCodes + (long) rows * Short.BYTES);
+            names = align(nameOffsets + (long) (rows + 1) * Integer.BYTES);
+            states = align(names + (long) nameBytes);
+        }
+
+        private static int align(long offset) {
+            long aligned = (offset + 7) & ~7L;
+            if (aligned > Integer.MAX_VALUE) throw new IllegalArgumentException("Snapshot exceeds 2 GiB");
+            return (int) aligned;
+        }
+    }
+
+    private static final class Header {
+        private long magic;
+        private int version;
+        private int rows;
+        private int stateCount;
+        private int nameBytes;
+        private long sourceSize;
+        private long sourceModified;
+        private long fileLength;
+        private int dataCrc;
+        private int headerCrc;
+
+        private static Header read(ByteBuffer file) {
+            Header header = new Header();
+            header.magic = file.getLong(0);
+            header.version = file.getInt(8);
+            header.rows = file.getInt(12);
+            header.stateCount = file.getInt(16);
+            header.nameBytes = file.getInt(20);
+            header.sourceSize = file.getLong(24);
+            header.sourceModified = file.getLong(32);
+            header.fileLength = file.getLong(40);
+            header.dataCrc = file.getInt(48);
+            header.headerCrc = file.getInt(HEADER_CRC_OFFSET);
+            return header;
+        }
+
+        private void write(ByteBuffer file) {
+            file.putLong(0, magic);
+            file.putInt(8, version);
+            file.putInt(12, rows);
+            file.putInt(16, stateCount);
+            file.putInt(20, nameBytes);
+            file.putLong(24, sourceSize);
+            file.putLong(32, sourceModified);
+            file.putLong(40, fileLength);
+            file.putInt(48, dataCrc);
+        }
+    }
+}
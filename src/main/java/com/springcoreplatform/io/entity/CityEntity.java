@@ -11,7 +11,8 @@ import javax.persistence.*;
 @Table(name = "city")
 public class CityEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "city_seq")
+    @SequenceGenerator(name = "city_seq", sequenceName = "city_seq", allocationSize = 100)
     @Column(name = "id", nullable = false)
     private Long id;
 
@@ -5,6 +5,10 @@ import lombok.Setter;
 
 import javax.persistence.*;
 
+/**
+ * A stored upload. Files are content addressed: one row and one file on disk per distinct SHA-256, whatever name
+ * it was uploaded under.
+ */
 @Getter
 @Setter
 @Entity
@@ -17,6 +21,15 @@ public class FileEntity {
     @Column(name = "file_name", nullable = false)
     private String fileName;
 
-    @Column(name = "url", nullable = false)
-    private String url;
+    @Column(name = "content_hash", nullable = false, unique = true, length = 64)
+    private String contentHash;
+
+    @Column(name = "size", nullable = false)
+    private long size;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Column(name = "path", nullable = false)
+    private String path;
 }
@@ -6,18 +6,28 @@ import lombok.Setter;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 import java.io.Serializable;
 
 @Getter
 @Setter
 @Entity(name = "users")
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = UserEntity.USER_ID_CONSTRAINT, columnNames = "userId"),
+        @UniqueConstraint(name = UserEntity.EMAIL_CONSTRAINT, columnNames = "email")
+})
 public class UserEntity implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    public static final String USER_ID_CONSTRAINT = "uk_users_user_id";
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private long id;
 
     @Column(nullable = false)
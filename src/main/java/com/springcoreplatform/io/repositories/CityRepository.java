@@ -2,10 +2,14 @@ package com.springcoreplatform.io.repositories;
 
 
 import com.springcoreplatform.io.entity.CityEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
-public interface CityRepository extends JpaRepository<CityEntity, Long> {
+public interface CityRepository extends JpaRepository<CityEntity, Long>, CityRepositoryCustom {
 
+    List<CityEntity> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 }
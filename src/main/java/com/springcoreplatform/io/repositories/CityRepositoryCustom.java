@@ -0,0 +1,13 @@
+package com.springcoreplatform.io.repositories;
+
+import com.springcoreplatform.io.entity.CityEntity;
+
+import java.util.List;
+
+public interface CityRepositoryCustom {
+
+    /**
+     * Inserts the cities in one transaction, sending them to the database in JDBC batches of {@code batchSize}.
+     */
+    void saveAllInBatches(List<CityEntity> cities, int batchSize);
+}
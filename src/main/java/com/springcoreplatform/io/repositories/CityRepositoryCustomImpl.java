@@ -0,0 +1,36 @@
+package com.springcoreplatform.io.repositories;
+
+import com.springcoreplatform.io.entity.CityEntity;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+
+public class CityRepositoryCustomImpl implements CityRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public void saveAllInBatches(List<CityEntity> cities, int batchSize) {
+        Session session = entityManager.unwrap(Session.class);
+        Integer previousBatchSize = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(batchSize);
+        try {
+            for (int i = 0; i < cities.size(); i++) {
+                entityManager.persist(cities.get(i));
+                if ((i + 1) % batchSize == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();
+        } finally {
+            session.setJdbcBatchSize(previousBatchSize);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.springcoreplatform.io.repositories;
+
+import com.springcoreplatform.io.entity.FileEntity;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface FileRepository extends CrudRepository<FileEntity, Long> {
+
+    FileEntity findByContentHash(String contentHash);
+}
@@ -1,7 +1,12 @@
 package com.springcoreplatform.io.repositories;
 
 import com.springcoreplatform.io.entity.UserEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -11,4 +16,16 @@ public interface UserRepository extends PagingAndSortingRepository<UserEntity, L
 
     UserEntity findByUserId(String userId);
 
+    /**
+     * Keyset page: the users after {@code id}. Returned as a slice, so no count query is issued.
+     */
+    Slice<UserEntity> findByIdGreaterThan(long id, Pageable pageable);
+
+    @Modifying
+    @Query("delete from users u where u.userId = :userId")
+    int deleteByUserId(@Param("userId") String userId);
+
+    @Modifying
+    @Query("update users u set u.encryptedPassword = :encryptedPassword where u.email = :email")
+    int updateEncryptedPassword(@Param("email") String email, @Param("encryptedPassword") String encryptedPassword);
 }
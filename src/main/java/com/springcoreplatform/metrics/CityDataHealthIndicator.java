@@ -0,0 +1,25 @@
+package com.springcoreplatform.metrics;
+
+import com.springcoreplatform.service.CityService;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code cityData} health: out of service until {@link CityService} has loaded its dataset. It is part of the
+ * readiness group, so {@code /actuator/health/readiness} keeps traffic away while the cities load in the background.
+ */
+@Component
+public class CityDataHealthIndicator implements HealthIndicator {
+
+    private final CityService cityService;
+
+    public CityDataHealthIndicator(CityService cityService) {
+        this.cityService = cityService;
+    }
+
+    @Override
+    public Health health() {
+        return cityService.isDatasetLoaded() ? Health.up().build() : Health.outOfService().build();
+    }
+}
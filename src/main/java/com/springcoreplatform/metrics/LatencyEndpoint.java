@@ -0,0 +1,116 @@
+package com.springcoreplatform.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.Getter;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code /actuator/latency}: p50/p99/p999 and throughput for every endpoint, request stage and repository method.
+ * <p>
+ * Percentiles come from the timers' rolling histograms ({@code management.metrics.distribution}, two minutes by
+ * default); throughput is the mean rate since startup. Like every endpoint outside the public list, it requires a
+ * bearer token.
+ */
+@Component
+@Endpoint(id = "latency")
+public class LatencyEndpoint {
+
+    private static final String HTTP_REQUESTS = "http.server.requests";
+    private static final String REPOSITORY_INVOCATIONS = "spring.data.repository.invocations";
+
+    private final MeterRegistry registry;
+
+    public LatencyEndpoint(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @ReadOperation
+    public LatencyReport latency() {
+        double uptimeSeconds = ManagementFactory.getRuntimeMXBean().getUptime() / 1000.0;
+
+        List<Latency> endpoints = new ArrayList<>();
+        for (Timer timer : registry.find(HTTP_REQUESTS).timers()) {
+            endpoints.add(new Latency(timer.getId().getTag("method") + " " + timer.getId().getTag("uri")
+                    + " " + timer.getId().getTag("status"), timer, uptimeSeconds));
+        }
+
+        List<Latency> stages = new ArrayList<>();
+        for (Timer timer : registry.find(RequestStages.METER_NAME).timers()) {
+            stages.add(new Latency(timer.getId().getTag("stage"), timer, uptimeSeconds));
+        }
+
+        List<Latency> repositories = new ArrayList<>();
+        for (Timer timer : registry.find(REPOSITORY_INVOCATIONS).timers()) {
+            repositories.add(new Latency(timer.getId().getTag("repository") + "." + timer.getId().getTag("method")
+                    + ("None".equals(timer.getId().getTag("exception")) ? "" : " " + timer.getId().getTag("exception")),
+                    timer, uptimeSeconds));
+        }
+
+        return new LatencyReport(uptimeSeconds, sorted(endpoints), sorted(stages), sorted(repositories));
+    }
+
+    private static List<Latency> sorted(List<Latency> latencies) {
+        latencies.sort(Comparator.comparingLong(Latency::getCount).reversed());
+        return latencies;
+    }
+
+    @Getter
+    public static final class LatencyReport {
+        private final double uptimeSeconds;
+        private final Collection<Latency> endpoints;
+        private final Collection<Latency> stages;
+        private final Collection<Latency> repositories;
+
+        private LatencyReport(double uptimeSeconds, Collection<Latency> endpoints, Collection<Latency> stages,
+                              Collection<Latency> repositories) {
+            this.uptimeSeconds = uptimeSeconds;
+            this.endpoints = endpoints;
+            this.stages = stages;
+            this.repositories = repositories;
+        }
+    }
+
+    /**
+     * Latencies in milliseconds. Percentiles are NaN until the timer has recorded within the current window.
+     */
+    @Getter
+    public static final class Latency {
+        private final String name;
+        private final long count;
+        private final double throughput;
+        private final double p50;
+        private final double p99;
+        private final double p999;
+        private final double max;
+
+        private Latency(String name, Timer timer, double uptimeSeconds) {
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            this.name = name;
+            this.count = snapshot.count();
+            this.throughput = uptimeSeconds > 0 ? snapshot.count() / uptimeSeconds : 0;
+            this.p50 = percentile(snapshot, 0.5);
+            this.p99 = percentile(snapshot, 0.99);
+            this.p999 = percentile(snapshot, 0.999);
+            this.max = snapshot.max(TimeUnit.MILLISECONDS);
+        }
+
+        private static double percentile(HistogramSnapshot snapshot, double percentile) {
+            for (ValueAtPercentile value : snapshot.percentileValues()) {
+                if (value.percentile() == percentile) return value.value(TimeUnit.MILLISECONDS);
+            }
+            return Double.NaN;
+        }
+    }
+}
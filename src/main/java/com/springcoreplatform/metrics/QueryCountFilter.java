@@ -0,0 +1,129 @@
+package com.springcoreplatform.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTags;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Counts the SQL statements of every request, security filters included.
+ * <p>
+ * The count and the time spent in JDBC are sent as {@value #QUERY_COUNT_HEADER} and {@value #QUERY_TIME_HEADER}
+ * headers and recorded per endpoint as {@code db.statements} and {@code db.statements.time}. A statement that runs
+ * {@code db.query-count.repeat-threshold} times or more in one request is logged as a likely N+1 query and counted
+ * in {@code db.statements.repeated}.
+ */
+public class QueryCountFilter extends OncePerRequestFilter {
+    private static final Logger LOGGER = Logger.getLogger(QueryCountFilter.class.getName());
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    public static final String QUERY_TIME_HEADER = "X-Query-Time";
+
+    private final MeterRegistry registry;
+    private final int repeatThreshold;
+    // keyed by method and URI template, which Spring MVC keeps to a bounded set
+    private final Map<String, Meters> metersByEndpoint = new ConcurrentHashMap<>();
+
+    public QueryCountFilter(MeterRegistry registry, int repeatThreshold) {
+        this.registry = registry;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            QueryCountResponse countingResponse = new QueryCountResponse(response, scope);
+            try {
+                chain.doFilter(request, countingResponse);
+            } finally {
+                if (!response.isCommitted()) countingResponse.writeHeaders();
+                record(request, response, scope);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, QueryCounter.Scope scope) {
+        Tag uri = WebMvcTags.uri(request, response);
+        Meters meters = metersByEndpoint.computeIfAbsent(request.getMethod() + ' ' + uri.getValue(),
+                key -> new Meters(registry, Tags.of(WebMvcTags.method(request), uri)));
+
+        meters.statements.record(scope.getCount());
+        meters.time.record(scope.getNanos(), TimeUnit.NANOSECONDS);
+
+        Map<String, Integer> repeated = scope.getRepeatedStatements(repeatThreshold);
+        if (repeated.isEmpty()) return;
+
+        meters.repeated.increment();
+        for (Map.Entry<String, Integer> statement : repeated.entrySet()) {
+            LOGGER.warning(String.format("Possible N+1 query: %s %s ran %d times: %s",
+                    request.getMethod(), request.getRequestURI(), statement.getValue(), statement.getKey()));
+        }
+    }
+
+    /**
+     * The meters of one method and URI template, registered on its first request.
+     */
+    private static final class Meters {
+        private final DistributionSummary statements;
+        private final Timer time;
+        private final Counter repeated;
+
+        private Meters(MeterRegistry registry, Tags tags) {
+            statements = DistributionSummary.builder("db.statements")
+                    .description("SQL statements per request")
+                    .tags(tags)
+                    .register(registry);
+            time = Timer.builder("db.statements.time")
+                    .description("Time per request spent executing SQL statements")
+                    .tags(tags)
+                    .register(registry);
+            repeated = Counter.builder("db.statements.repeated")
+                    .description("Requests that ran the same statement repeatedly, a likely N+1 query")
+                    .tags(tags)
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Adds the headers at the last moment the response can still take them: when it is committed, or when the
+     * request ends if nothing committed it.
+     */
+    private static final class QueryCountResponse extends OnCommittedResponseWrapper {
+        private final QueryCounter.Scope scope;
+        private boolean written;
+
+        private QueryCountResponse(HttpServletResponse response, QueryCounter.Scope scope) {
+            super(response);
+            this.scope = scope;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeHeaders();
+        }
+
+        private void writeHeaders() {
+            if (written) return;
+            written = true;
+            setHeader(QUERY_COUNT_HEADER, Integer.toString(scope.getCount()));
+            setHeader(QUERY_TIME_HEADER, String.format(Locale.ROOT, "%.3f", scope.getNanos() / 1e6));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.springcoreplatform.metrics;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Counts and times the JDBC statements run on the current thread while a {@link Scope} is open.
+ * <p>
+ * {@link QueryCountFilter} opens one scope per request; tests can open their own to put an upper bound on the
+ * statements an operation may run:
+ * <pre>
+ * try (QueryCounter.Scope scope = QueryCounter.open()) {
+ *     userService.deleteUser(userId);
+ *     assertTrue(scope.getCount() &lt;= 2);
+ * }
+ * </pre>
+ * Statements on other threads, such as background imports, are not counted.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    /**
+     * Starts counting on this thread. Scopes nest: statements counted by an inner scope also count for the outer.
+     */
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    static void record(String sql, long nanos) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.record(sql, nanos);
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+        private final Scope parent;
+        private int count;
+        private long nanos;
+        private Map<String, int[]> executions;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        private void record(String sql, long elapsed) {
+            count++;
+            nanos += elapsed;
+            if (executions == null) executions = new HashMap<>();
+            executions.computeIfAbsent(sql, key -> new int[1])[0]++;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * SQL run at least {@code threshold} times in this scope, with its count. The same statement repeated with
+         * different parameters is the signature of an N+1 query.
+         */
+        public Map<String, Integer> getRepeatedStatements(int threshold) {
+            if (executions == null) return Collections.emptyMap();
+
+            Map<String, Integer> returnValue = new LinkedHashMap<>();
+            for (Map.Entry<String, int[]> execution : executions.entrySet()) {
+                if (execution.getValue()[0] >= threshold) returnValue.put(execution.getKey(), execution.getValue()[0]);
+            }
+            return returnValue;
+        }
+
+        @Override
+        public void close() {
+            if (CURRENT.get() == this) {
+                if (parent != null) CURRENT.set(parent);
+                else CURRENT.remove();
+            }
+        }
+    }
+}
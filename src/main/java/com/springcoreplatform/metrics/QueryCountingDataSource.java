@@ -0,0 +1,100 @@
+package com.springcoreplatform.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Data source whose statements report to {@link QueryCounter}. Every {@code execute*} call is one statement, so a
+ * JDBC batch counts once however many rows it carries.
+ * <p>
+ * Connections and statements are wrapped in JDK proxies. Outside a counting scope the statement proxy only adds a
+ * thread-local read to each call.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    public QueryCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection(username, password)));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = QueryCountingDataSource.invoke(target, method, args);
+
+            if (result instanceof CallableStatement) {
+                return proxy(CallableStatement.class, new StatementHandler((Statement) result, (String) args[0]));
+            }
+            if (result instanceof PreparedStatement) {
+                return proxy(PreparedStatement.class, new StatementHandler((Statement) result, (String) args[0]));
+            }
+            if (result instanceof Statement) {
+                return proxy(Statement.class, new StatementHandler((Statement) result, null));
+            }
+            return result;
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String sql;
+
+        private StatementHandler(Statement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute") || !QueryCounter.isActive()) {
+                return QueryCountingDataSource.invoke(target, method, args);
+            }
+
+            long start = System.nanoTime();
+            try {
+                return QueryCountingDataSource.invoke(target, method, args);
+            } finally {
+                String statement = sql != null ? sql : args != null && args.length > 0 ? String.valueOf(args[0]) : "batch";
+                QueryCounter.record(statement, System.nanoTime() - start);
+            }
+        }
+    }
+}
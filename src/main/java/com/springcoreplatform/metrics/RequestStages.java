@@ -0,0 +1,35 @@
+package com.springcoreplatform.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Names of the {@value #METER_NAME} timers that split a request into the stages it spends its time in. Endpoint
+ * totals come from Spring's {@code http.server.requests} and repository calls from
+ * {@code spring.data.repository.invocations}.
+ * <p>
+ * Timers are registered once and kept in fields by their owners, so recording a stage is two {@code nanoTime}
+ * calls and a lock-free histogram update, without tag lookups or allocation.
+ */
+public final class RequestStages {
+
+    public static final String METER_NAME = "request.stage";
+
+    public static final String JWT_VERIFY = "jwt.verify";
+    public static final String PASSWORD_ENCODE = "password.encode";
+    public static final String PASSWORD_MATCH = "password.match";
+    /**
+     * Prefix of the response body stages, one per format: {@code serialization.json}, {@code serialization.xml}.
+     */
+    public static final String SERIALIZATION = "serialization.";
+
+    private RequestStages() {
+    }
+
+    public static Timer timer(MeterRegistry registry, String stage) {
+        return Timer.builder(METER_NAME)
+                .description("Time spent in one stage of request handling")
+                .tag("stage", stage)
+                .register(registry);
+    }
+}
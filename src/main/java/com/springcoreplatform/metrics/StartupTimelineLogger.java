@@ -0,0 +1,57 @@
+package com.springcoreplatform.metrics;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Logs the slowest startup steps once the application is ready. The full timeline, including steps that finish
+ * later such as the background city load, is served by {@code /actuator/startup}.
+ */
+@Component
+public class StartupTimelineLogger implements ApplicationListener<ApplicationReadyEvent> {
+    private static final Logger LOGGER = Logger.getLogger(StartupTimelineLogger.class.getName());
+    private static final int SLOWEST_STEPS = 10;
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        ApplicationStartup applicationStartup = event.getApplicationContext().getApplicationStartup();
+        if (!(applicationStartup instanceof BufferingApplicationStartup)) return;
+
+        StartupTimeline timeline = ((BufferingApplicationStartup) applicationStartup).getBufferedTimeline();
+        List<StartupTimeline.TimelineEvent> slowest = timeline.getEvents().stream()
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(SLOWEST_STEPS)
+                .collect(Collectors.toList());
+
+        StringBuilder message = new StringBuilder(String.format(Locale.ROOT, "Ready %d ms after launch, slowest steps:",
+                Duration.between(timeline.getStartTime(), Instant.now()).toMillis()));
+        for (StartupTimeline.TimelineEvent step : slowest) {
+            message.append(String.format(Locale.ROOT, "%n  %6d ms  %s%s", step.getDuration().toMillis(),
+                    step.getStartupStep().getName(), describe(step.getStartupStep().getTags())));
+        }
+        LOGGER.info(message.toString());
+    }
+
+    private static String describe(StartupStep.Tags tags) {
+        StringBuilder description = new StringBuilder();
+        for (StartupStep.Tag tag : tags) {
+            if ("beanName".equals(tag.getKey()) || "cities".equals(tag.getKey())) {
+                description.append(' ').append(tag.getKey()).append('=').append(tag.getValue());
+            }
+        }
+        return description.toString();
+    }
+}
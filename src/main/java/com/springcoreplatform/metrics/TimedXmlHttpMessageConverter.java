@@ -0,0 +1,35 @@
+package com.springcoreplatform.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.xml.MappingJackson2XmlHttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * XML counterpart of {@link TimedJsonHttpMessageConverter}, timed as the {@code serialization.xml} stage.
+ */
+public class TimedXmlHttpMessageConverter extends MappingJackson2XmlHttpMessageConverter {
+
+    private final Timer timer;
+
+    public TimedXmlHttpMessageConverter(ObjectMapper objectMapper, Timer timer) {
+        super(objectMapper);
+        this.timer = timer;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        long start = System.nanoTime();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
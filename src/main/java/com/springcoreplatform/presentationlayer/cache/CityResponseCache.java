@@ -0,0 +1,131 @@
+package com.springcoreplatform.presentationlayer.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.springcoreplatform.service.CityService;
+import com.springcoreplatform.shared.dto.CityDto;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.xml.MappingJackson2XmlHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The full city list, encoded once per dataset version as JSON and XML bytes, each also gzipped.
+ * <p>
+ * The bytes come from the same object mappers as the message converters, so they match what Jackson would write
+ * per request. Each variant is encoded the first time it is asked for and kept until
+ * {@link CityService#getDatasetVersion()} changes. The ETags are derived from the encoded content, so they stay the
+ * same across restarts as long as the dataset does.
+ */
+@Component
+public class CityResponseCache {
+
+    private final CityService cityService;
+    private final ObjectWriter jsonWriter;
+    private final ObjectWriter xmlWriter;
+    private volatile Entry entry;
+
+    public CityResponseCache(CityService cityService, MappingJackson2HttpMessageConverter jsonConverter,
+                             MappingJackson2XmlHttpMessageConverter xmlConverter) {
+        this.cityService = cityService;
+        this.jsonWriter = writerForCities(jsonConverter.getObjectMapper());
+        this.xmlWriter = writerForCities(xmlConverter.getObjectMapper());
+    }
+
+    public EncodedResponse getCities(boolean xml, boolean gzip) {
+        long version = cityService.getDatasetVersion();
+        Entry current = entry;
+        if (current == null || current.version != version) {
+            current = new Entry(version, cityService.getCities());
+            entry = current;
+        }
+        return current.get(xml, gzip);
+    }
+
+    private static ObjectWriter writerForCities(ObjectMapper objectMapper) {
+        return objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, CityDto.class));
+    }
+
+    private final class Entry {
+        private final long version;
+        private final List<CityDto> cities;
+        private final EncodedResponse[] variants = new EncodedResponse[4];
+
+        private Entry(long version, List<CityDto> cities) {
+            this.version = version;
+            this.cities = cities;
+        }
+
+        private synchronized EncodedResponse get(boolean xml, boolean gzip) {
+            int slot = (xml ? 2 : 0) + (gzip ? 1 : 0);
+            if (variants[slot] != null) return variants[slot];
+
+            if (!gzip) {
+                byte[] body = encode(xml ? xmlWriter : jsonWriter);
+                variants[slot] = new EncodedResponse(body, "\"" + digest(body) + "\"");
+            } else {
+                EncodedResponse identity = get(xml, false);
+                variants[slot] = new EncodedResponse(gzip(identity.body),
+                        identity.etag.substring(0, identity.etag.length() - 1) + "-gzip\"");
+            }
+            return variants[slot];
+        }
+
+        private byte[] encode(ObjectWriter writer) {
+            try {
+                return writer.writeValueAsBytes(cities);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not encode the city list", e);
+            }
+        }
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static String digest(byte[] body) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A response body ready to be copied to the socket, with its strong ETag.
+     */
+    public static final class EncodedResponse {
+        private final byte[] body;
+        private final String etag;
+
+        private EncodedResponse(byte[] body, String etag) {
+            this.body = body;
+            this.etag = etag;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+    }
+}
@@ -1,37 +1,150 @@
 package com.springcoreplatform.presentationlayer.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.springcoreplatform.presentationlayer.cache.CityResponseCache;
 import com.springcoreplatform.presentationlayer.model.response.FileUploadResponseMessage;
+import com.springcoreplatform.service.CityImportService;
 import com.springcoreplatform.service.CityService;
 import com.springcoreplatform.service.FileService;
+import com.springcoreplatform.shared.dto.CityBatchDto;
 import com.springcoreplatform.shared.dto.CityDto;
+import com.springcoreplatform.shared.dto.CityImportJobDto;
+import com.springcoreplatform.shared.dto.CityPageDto;
+import com.springcoreplatform.shared.dto.CityStatsDto;
+import com.springcoreplatform.shared.dto.FileDto;
 import io.swagger.annotations.ApiImplicitParam;
 import io.swagger.annotations.ApiImplicitParams;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/city")
 public class CityController {
 
+    private static final String IMPORT_RETRY_AFTER_SECONDS = "5";
+
     private final CityService cityService;
     private final FileService fileService;
+    private final CityImportService cityImportService;
+    private final CityResponseCache cityResponseCache;
+    private final ObjectWriter ndjsonWriter;
+    private final ObjectReader cityReader;
 
     @Autowired
-    public CityController(CityService cityService, FileService fileService) {
+    public CityController(CityService cityService, FileService fileService, CityImportService cityImportService,
+                          CityResponseCache cityResponseCache, ObjectMapper objectMapper) {
         this.cityService = cityService;
         this.fileService = fileService;
+        this.cityImportService = cityImportService;
+        this.cityResponseCache = cityResponseCache;
+        this.ndjsonWriter = objectMapper.writerFor(CityDto.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.cityReader = objectMapper.readerFor(CityDto.class);
+    }
+
+    /**
+     * Copies the pre-encoded list from {@link CityResponseCache}: JSON or XML by {@code Accept}, gzipped when the
+     * client accepts it. A matching {@code If-None-Match} gets a 304 without a body.
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE})
+    @ApiImplicitParams({@ApiImplicitParam(name = "authorization", value = "Bearer JWT Token", paramType = "header")})
+    public ResponseEntity<byte[]> getCities(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean xml = prefersXml(accept);
+        boolean gzip = acceptsGzip(acceptEncoding);
+        CityResponseCache.EncodedResponse cities = cityResponseCache.getCities(xml, gzip);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(xml ? MediaType.APPLICATION_XML : MediaType.APPLICATION_JSON)
+                .eTag(cities.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+
+        return response.body(cities.getBody());
+    }
+
+    @GetMapping(params = {"limit"}, produces = {MediaType.APPLICATION_JSON_VALUE})
+    @ApiImplicitParams({@ApiImplicitParam(name = "authorization", value = "Bearer JWT Token", paramType = "header")})
+    public CityPageDto getCityPage(@RequestParam(value = "cursor", required = false) String cursor,
+                                   @RequestParam("limit") int limit) {
+        return cityService.getCities(cursor, limit);
+    }
+
+    /**
+     * Writes one JSON document per line straight to the response, so memory does not grow with the dataset.
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE})
+    @ApiImplicitParams({@ApiImplicitParam(name = "authorization", value = "Bearer JWT Token", paramType = "header")})
+    public ResponseEntity<StreamingResponseBody> streamCities(@RequestParam(value = "cursor", required = false) String cursor) {
+        List<CityDto> cities = cityService.getCitiesFrom(cursor);
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = ndjsonWriter.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                for (CityDto city : cities) {
+                    ndjsonWriter.writeValue(generator, city);
+                    generator.writeRaw('\n');
+                }
+            }
+        };
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping(path = {"/nearest"}, produces = {MediaType.APPLICATION_JSON_VALUE})
+    @ApiImplicitParams({@ApiImplicitParam(name = "authorization", value = "Bearer JWT Token", paramType = "header")})
+    public List<CityDto> getNearestCities(@RequestParam("lat") double lat,
+                                          @RequestParam("lon") double lon,
+                                          @RequestParam(value = "k", defaultValue = "10") int k) {
+        return cityService.getNearestCities(lat, lon, k);
+    }
+
+    @GetMapping(path = {"/within"}, produces = {MediaType.APPLICATION_JSON_VALUE})
+    @ApiImplicitParams({@ApiImplicitParam(name = "authorization", value = "Bearer JWT Token", paramType = "header")})
+    public List<CityDto> getCitiesWithin(@RequestParam("minLat") double minLat,
+                                         @RequestParam("minLon") double minLon,
+                                         @RequestParam("maxLat") double maxLat,
+                                         @RequestParam("maxLon") double maxLon,
+                                         @RequestParam(value = "limit", defaultValue = "1000") int limit) {
+        return cityService.getCitiesWithin(minLat, minLon, maxLat, maxLon, limit);
     }
 
-    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE})
+    /**
+     * Autocomplete: cities whose name starts with {@code prefix}, ignoring case, in name order.
+     */
+    @GetMapping(path = {"/search"}, produces = {MediaType.APPLICATION_JSON_VALUE})
     @ApiImplicitParams({@ApiImplicitParam(name = "authorization", value = "Bearer JWT Token", paramType = "header")})
-    public List<CityDto> getUsers() {
-        return cityService.getCities();
+    public List<CityDto> searchCities(@RequestParam("prefix") String prefix,
+                                      @RequestParam(value = "state", required = false) String state,
+                                      @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return cityService.searchCities(prefix, state, limit);
+    }
+
+    /**
+     * Counts and extents kept in memory by the service, so the cost does not grow with the number of cities.
+     */
+    @GetMapping(path = {"/stats"}, produces = {MediaType.APPLICATION_JSON_VALUE})
+    @ApiImplicitParams({@ApiImplicitParam(name = "authorization", value = "Bearer JWT Token", paramType = "header")})
+    public CityStatsDto getCityStats() {
+        return cityService.getCityStats();
     }
 
     @ApiImplicitParams({@ApiImplicitParam(name = "authorization", value = "Bearer JWT Token", paramType = "header")})
@@ -46,25 +159,95 @@ public class CityController {
         return cityService.addRandomCity();
     }
 
+    /**
+     * Accepts a JSON array or an NDJSON stream of cities and reads it incrementally, one insert batch at a time.
+     */
+    @ApiImplicitParams({@ApiImplicitParam(name = "authorization", value = "Bearer JWT Token", paramType = "header")})
+    @PostMapping(
+            path = {"/batch"},
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE}
+    )
+    public CityBatchDto addCities(HttpServletRequest request,
+                                  @RequestParam(value = "batchSize", required = false) Integer batchSize) throws IOException {
+        try (MappingIterator<CityDto> cities = cityReader.readValues(request.getInputStream())) {
+            return cityService.addCities(cities, batchSize);
+        }
+    }
+
+    /**
+     * Stores the file and, for CSV files, starts a background import whose progress is served by
+     * {@link #getUploadJob(String)}. The response is sent as soon as the file is on disk. When the import pool is
+     * full the file stays stored and the client gets a 503 with {@code Retry-After}.
+     */
     @ApiImplicitParams({@ApiImplicitParam(name = "authorization", value = "Bearer JWT Token", paramType = "header")})
     @PostMapping("/upload")
     public ResponseEntity<FileUploadResponseMessage> uploadFile(@RequestParam("file") MultipartFile file) {
-        String message;
+        FileDto storedFile;
         try {
-            fileService.save(file);
-            message = "Uploaded the file successfully: " + file.getOriginalFilename();
-
+            storedFile = fileService.save(file);
+        } catch (Exception e) {
             FileUploadResponseMessage response = new FileUploadResponseMessage();
-            response.setMessage(message);
+            response.setMessage("Could not upload the file: " + file.getOriginalFilename() + ". Error: " + e.getMessage());
+
+            return ResponseEntity.status(HttpStatus.EXPECTATION_FAILED).body(response);
+        }
+
+        FileUploadResponseMessage response = new FileUploadResponseMessage();
+        response.setMessage("Uploaded the file successfully: " + file.getOriginalFilename());
 
+        if (!isCsv(file)) {
             return ResponseEntity.status(HttpStatus.OK).body(response);
-        } catch (Exception e) {
-            message = "Could not upload the file: " + file.getOriginalFilename() + ". Error: " + e.getMessage();
+        }
 
-            FileUploadResponseMessage response = new FileUploadResponseMessage();
-            response.setMessage(message);
+        try {
+            CityImportJobDto job = cityImportService.startImport(Paths.get(storedFile.getPath()), file.getOriginalFilename());
+            response.setJobId(job.getJobId());
 
-            return ResponseEntity.status(HttpStatus.EXPECTATION_FAILED).body(response);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (RejectedExecutionException e) {
+            response.setMessage("Uploaded the file successfully: " + file.getOriginalFilename()
+                    + ", but the import was not started. Error: " + e.getMessage());
+
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, IMPORT_RETRY_AFTER_SECONDS)
+                    .body(response);
         }
     }
-}
\ No newline at end of file
+
+    @ApiImplicitParams({@ApiImplicitParam(name = "authorization", value = "Bearer JWT Token", paramType = "header")})
+    @GetMapping(path = {"/upload/{jobId}"}, produces = {MediaType.APPLICATION_JSON_VALUE})
+    public CityImportJobDto getUploadJob(@PathVariable String jobId) {
+        return cityImportService.getImport(jobId);
+    }
+
+    private static boolean prefersXml(String accept) {
+        if (accept == null) return false;
+
+        List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+        MediaType.sortBySpecificityAndQuality(mediaTypes);
+        for (MediaType mediaType : mediaTypes) {
+            if (mediaType.getQualityValue() == 0) continue;
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) return false;
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_XML)) return true;
+        }
+        return false;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (!"gzip".equalsIgnoreCase(parts[0].trim())) continue;
+            return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+        }
+        return false;
+    }
+
+    private static boolean isCsv(MultipartFile file) {
+        String name = file.getOriginalFilename();
+        return "text/csv".equalsIgnoreCase(file.getContentType())
+                || (name != null && name.toLowerCase().endsWith(".csv"));
+    }
+}
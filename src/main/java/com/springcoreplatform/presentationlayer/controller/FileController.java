@@ -0,0 +1,197 @@
+package com.springcoreplatform.presentationlayer.controller;
+
+import com.springcoreplatform.exceptions.FileServiceException;
+import com.springcoreplatform.presentationlayer.model.response.FileRest;
+import com.springcoreplatform.service.FileService;
+import com.springcoreplatform.shared.dto.FileDto;
+import com.springcoreplatform.shared.mapper.FileMapper;
+import io.swagger.annotations.ApiImplicitParam;
+import io.swagger.annotations.ApiImplicitParams;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/files")
+public class FileController {
+
+    private static final String SHA_256_DIGEST = "sha-256=";
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    private static final String CACHE_CONTROL =
+            CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().getHeaderValue() + ", immutable";
+
+    @Autowired
+    private FileService fileService;
+
+    /**
+     * Stores the raw request body. The name comes from {@code Content-Disposition: attachment; filename="..."}.
+     * A {@code Digest: sha-256=<base64>} header is checked against the body, and the upload is rejected when they
+     * differ.
+     * <p>
+     * Answers 201 with the new file, or 200 with the stored one when the content was already there.
+     */
+    @ApiImplicitParams({@ApiImplicitParam(name = "authorization", value = "Bearer JWT Token", paramType = "header")})
+    @PostMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE})
+    public ResponseEntity<FileRest> uploadFile(HttpServletRequest request,
+                                               @RequestHeader(value = HttpHeaders.CONTENT_DISPOSITION, required = false) String disposition,
+                                               @RequestHeader(value = "Digest", required = false) String digest) throws IOException {
+        String fileName = disposition != null ? ContentDisposition.parse(disposition).getFilename() : null;
+
+        FileDto fileDto;
+        try (InputStream content = request.getInputStream()) {
+            fileDto = fileService.store(content, fileName, request.getContentType(), sha256Hex(digest));
+        }
+
+        FileRest returnValue = FileMapper.toRest(fileDto);
+        if (!fileDto.isCreated()) return ResponseEntity.ok(returnValue);
+
+        return ResponseEntity.created(URI.create("/files/" + fileDto.getId())).body(returnValue);
+    }
+
+    /**
+     * Serves a stored file without copying it through the heap: Tomcat is handed the file for sendfile, and other
+     * containers get a {@link FileChannel#transferTo} loop.
+     * <p>
+     * The content behind an id never changes, so the SHA-256 is a strong ETag and clients may cache the response
+     * for a year. {@code If-None-Match} answers 304. A single {@code Range} is served as 206, or 416 when it lies
+     * outside the file. Multi-range requests and an {@code If-Range} that does not match the ETag get the whole file.
+     */
+    @ApiImplicitParams({@ApiImplicitParam(name = "authorization", value = "Bearer JWT Token", paramType = "header")})
+    @GetMapping(path = {"/{id}"})
+    public void downloadFile(@PathVariable long id, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        FileDto fileDto = fileService.getFile(id);
+        String etag = "\"" + fileDto.getContentHash() + "\"";
+        long length = fileDto.getSize();
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (matchesAny(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        response.setContentType(fileDto.getContentType() != null ? fileDto.getContentType() : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(fileDto.getFileName(), StandardCharsets.UTF_8).build().toString());
+
+        long start = 0;
+        long end = length - 1;
+        HttpRange range = requestedRange(request, etag);
+        if (range != null) {
+            try {
+                start = range.getRangeStart(length);
+                end = range.getRangeEnd(length);
+            } catch (IllegalArgumentException e) {
+                start = length;
+            }
+            if (start > end) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+
+        response.setContentLengthLong(end - start + 1);
+        if (HttpMethod.HEAD.matches(request.getMethod()) || start > end) return;
+
+        transfer(request, response, Paths.get(fileDto.getPath()).toRealPath(), start, end + 1);
+    }
+
+    private static HttpRange requestedRange(HttpServletRequest request, String etag) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null) return null;
+
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.trim().equals(etag)) return null;
+
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(header);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return ranges.size() == 1 ? ranges.get(0) : null;
+    }
+
+    private static boolean matchesAny(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) return true;
+        }
+        return false;
+    }
+
+    private static void transfer(HttpServletRequest request, HttpServletResponse response, Path file,
+                                 long start, long end) throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position < end) {
+                position += channel.transferTo(position, end - position, out);
+            }
+        }
+    }
+
+    private static String sha256Hex(String digest) {
+        if (digest == null) return null;
+
+        for (String value : digest.split(",")) {
+            value = value.trim();
+            if (!value.regionMatches(true, 0, SHA_256_DIGEST, 0, SHA_256_DIGEST.length())) continue;
+
+            byte[] hash;
+            try {
+                hash = Base64.getDecoder().decode(value.substring(SHA_256_DIGEST.length()));
+            } catch (IllegalArgumentException e) {
+                hash = new byte[0];
+            }
+            if (hash.length != 32) throw new FileServiceException("Digest sha-256 value must be 32 bytes in base64.");
+
+            StringBuilder hex = new StringBuilder(64);
+            for (byte b : hash) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        }
+        return null;
+    }
+}
@@ -5,11 +5,15 @@ import com.springcoreplatform.presentationlayer.model.request.UserDetailsRequest
 import com.springcoreplatform.presentationlayer.model.response.*;
 import com.springcoreplatform.service.UserService;
 import com.springcoreplatform.shared.dto.UserDto;
-import org.springframework.beans.BeanUtils;
+import com.springcoreplatform.shared.dto.UserPageDto;
+import com.springcoreplatform.shared.mapper.UserMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @RestController
 @RequestMapping("users")
 public class UserController {
@@ -17,18 +21,27 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @GetMapping(produces = {MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public UserPageRest getUsers(@RequestParam(value = "after", required = false) String after,
+                                 @RequestParam(value = "limit", defaultValue = "25") int limit) {
+        UserPageDto page = userService.getUsers(after, limit);
+
+        List<UserRest> users = new ArrayList<>(page.getUsers().size());
+        for (UserDto userDto : page.getUsers()) {
+            users.add(UserMapper.toRest(userDto));
+        }
+
+        return new UserPageRest(users, page.getNextCursor());
+    }
+
     @GetMapping(path = {"/{id}"}, produces = {MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_JSON_VALUE})
     public UserRest getUser(@PathVariable String id) {
-        UserRest returnValue = new UserRest();
-
         UserDto userDto = userService.getUserByUserId(id);
         if (userService == null) {
             throw new UserServiceException("User service is not initialized");
         }
 
-        BeanUtils.copyProperties(userDto, returnValue);
-
-        return returnValue;
+        return UserMapper.toRest(userDto);
     }
 
     @PostMapping(
@@ -36,25 +49,20 @@ public class UserController {
             produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE}
     )
     public UserRest createUser(@RequestBody UserDetailsRequestModel userDetails) {
-        UserRest returnValue = new UserRest();
-
         boolean isFirstNameEmpty = userDetails.getFirstName() == null || userDetails.getFirstName().isEmpty();
 
         if (isFirstNameEmpty) {
             throw new UserServiceException(ErrorMessages.MISSING_REQUIRED_FIELD.getErrorMessage());
         }
 
-        UserDto userDto = new UserDto();
-        BeanUtils.copyProperties(userDetails, userDto);
+        UserDto userDto = UserMapper.toDto(userDetails);
 
         if (userService == null) {
             throw new UserServiceException("User service is not initialized");
         }
         UserDto createdUser = userService.createUser(userDto);
 
-        BeanUtils.copyProperties(createdUser, returnValue);
-
-        return returnValue;
+        return UserMapper.toRest(createdUser);
     }
 
     @PutMapping(
@@ -63,25 +71,20 @@ public class UserController {
             produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE}
     )
     public UserRest updateUser(@RequestBody UserDetailsRequestModel userDetails, @PathVariable String id) {
-        UserRest returnValue = new UserRest();
-
         boolean isFirstNameEmpty = userDetails.getFirstName() == null || userDetails.getFirstName().isEmpty();
 
         if (isFirstNameEmpty) {
             throw new UserServiceException(ErrorMessages.MISSING_REQUIRED_FIELD.getErrorMessage());
         }
 
-        UserDto userDto = new UserDto();
-        BeanUtils.copyProperties(userDetails, userDto);
+        UserDto userDto = UserMapper.toDto(userDetails);
 
         if (userService == null) {
             throw new UserServiceException("User service is not initialized");
         }
         UserDto updateUser = userService.updateUser(id, userDto);
 
-        BeanUtils.copyProperties(updateUser, returnValue);
-
-        return returnValue;
+        return UserMapper.toRest(updateUser);
     }
 
     @DeleteMapping(path = {"/{id}"})
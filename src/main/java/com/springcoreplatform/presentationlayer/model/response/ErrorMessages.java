@@ -8,7 +8,8 @@ public enum ErrorMessages {
     AUTHENTICATION_FAILED("Authentication failed."),
     COULD_NOT_UPDATE_RECORD("Could not update record."),
     COULD_NOT_DELETE_RECORD("Could not delete record."),
-    EMAIL_ADDRESS_NOT_VERIFIED("Email address could not be verified.");
+    EMAIL_ADDRESS_NOT_VERIFIED("Email address could not be verified."),
+    INVALID_QUERY_PARAMETER("Invalid query parameter. ");
 
     private String errorMessage;
 
@@ -0,0 +1,15 @@
+package com.springcoreplatform.presentationlayer.model.response;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class FileRest {
+
+    private long id;
+    private String fileName;
+    private String contentHash;
+    private long size;
+    private String contentType;
+}
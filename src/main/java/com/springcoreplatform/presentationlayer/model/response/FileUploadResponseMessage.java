@@ -11,4 +11,5 @@ import lombok.Setter;
 @NoArgsConstructor
 public class FileUploadResponseMessage {
     private String message;
+    private String jobId;
 }
\ No newline at end of file
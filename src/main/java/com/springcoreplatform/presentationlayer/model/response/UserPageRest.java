@@ -0,0 +1,17 @@
+package com.springcoreplatform.presentationlayer.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPageRest {
+    private List<UserRest> users;
+    private String nextCursor;
+}
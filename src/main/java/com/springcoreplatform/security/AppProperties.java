@@ -1,17 +1,37 @@
 package com.springcoreplatform.security;
 
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.impl.TextCodec;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.spec.SecretKeySpec;
+import java.security.Key;
+
 @Component
 public class AppProperties {
 
     @Autowired
     private Environment environment;
 
+    private volatile Key signingKey;
+
 public String getTokenSecret() {
 
         return environment.getProperty("tokenSecret");
     }
+
+    /**
+     * HS512 key built from the token secret, resolved on first use instead of on every sign or parse.
+     * It is the key jjwt derives itself when given the Base64 secret string, so existing tokens stay valid.
+     */
+    public Key getSigningKey() {
+        Key key = signingKey;
+        if (key == null) {
+            key = new SecretKeySpec(TextCodec.BASE64.decode(getTokenSecret()), SignatureAlgorithm.HS512.getJcaName());
+            signingKey = key;
+        }
+        return key;
+    }
 }
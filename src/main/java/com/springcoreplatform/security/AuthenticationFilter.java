@@ -1,17 +1,20 @@
 package com.springcoreplatform.security;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.springcoreplatform.SpringApplicationContext;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.springcoreplatform.exceptions.PasswordHashingBusyException;
+import com.springcoreplatform.presentationlayer.model.response.ErrorMessage;
 import com.springcoreplatform.presentationlayer.model.request.UserLoginRequestModel;
-import com.springcoreplatform.service.UserService;
-import com.springcoreplatform.shared.dto.UserDto;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 import javax.servlet.FilterChain;
@@ -25,9 +28,14 @@ import java.util.Date;
 public class AuthenticationFilter extends UsernamePasswordAuthenticationFilter {
 
     private final AuthenticationManager authenticationManager;
+    private final AppProperties appProperties;
+    private final ObjectWriter errorWriter;
 
-    public AuthenticationFilter(AuthenticationManager authenticationManager) {
+    public AuthenticationFilter(AuthenticationManager authenticationManager, AppProperties appProperties,
+                                ObjectMapper objectMapper) {
         this.authenticationManager = authenticationManager;
+        this.appProperties = appProperties;
+        this.errorWriter = objectMapper.writerFor(ErrorMessage.class);
     }
 
     @Override
@@ -47,21 +55,37 @@ public class AuthenticationFilter extends UsernamePasswordAuthenticationFilter {
     @Override
     protected void successfulAuthentication(HttpServletRequest req, HttpServletResponse res, FilterChain chain, Authentication auth) throws IOException, ServletException {
 
-        String userName = ((User) auth.getPrincipal()).getUsername();
+        UserPrincipal principal = (UserPrincipal) auth.getPrincipal();
+        String userName = principal.getUsername();
 
         String token = Jwts.builder()
                 .setSubject(userName)
                 .setExpiration(new Date(System.currentTimeMillis() + SecurityConstants.EXPIRATION_TIME))
-                .signWith(SignatureAlgorithm.HS512, SecurityConstants.getTokenSecret())
+                .signWith(SignatureAlgorithm.HS512, appProperties.getSigningKey())
                 .compact();
 
-        UserService userService = (UserService) SpringApplicationContext.getBean("userServiceImpl");
-
-        UserDto userDto = userService.getUser(userName);
-
         res.addHeader(SecurityConstants.HEADER_STRING, SecurityConstants.TOKEN_PREFIX + token);
 
-        res.addHeader("UserID", userDto.getUserId());
+        res.addHeader("UserID", principal.getUserId());
     }
 
+    /**
+     * A saturated password hashing pool is answered with 503 and {@code Retry-After}. The body is written here like in
+     * {@link RateLimitFilter}, since the {@code /error} dispatch of {@code sendError} is refused to a client that has
+     * not logged in yet and would turn into a 403.
+     */
+    @Override
+    protected void unsuccessfulAuthentication(HttpServletRequest req, HttpServletResponse res, AuthenticationException failed) throws IOException, ServletException {
+
+        if (failed instanceof PasswordHashingBusyException) {
+            SecurityContextHolder.clearContext();
+            res.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            res.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            errorWriter.writeValue(res.getOutputStream(), new ErrorMessage(new Date(), failed.getMessage()));
+            return;
+        }
+
+        super.unsuccessfulAuthentication(req, res, failed);
+    }
 }
@@ -1,6 +1,5 @@
 package com.springcoreplatform.security;
 
-import io.jsonwebtoken.Jwts;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,8 +14,11 @@ import java.util.ArrayList;
 
 public class AuthorizationFilter extends BasicAuthenticationFilter {
 
-    public AuthorizationFilter(AuthenticationManager authenticationManager) {
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    public AuthorizationFilter(AuthenticationManager authenticationManager, VerifiedTokenCache verifiedTokenCache) {
         super(authenticationManager);
+        this.verifiedTokenCache = verifiedTokenCache;
     }
 
 
@@ -41,11 +43,7 @@ public class AuthorizationFilter extends BasicAuthenticationFilter {
         String token = request.getHeader(SecurityConstants.HEADER_STRING);
 
         if (token != null) {
-            String user = Jwts.parser()
-                    .setSigningKey(SecurityConstants.getTokenSecret())
-                    .parseClaimsJws(token.replace(SecurityConstants.TOKEN_PREFIX, ""))
-                    .getBody()
-                    .getSubject();
+            String user = verifiedTokenCache.getSubject(token.replace(SecurityConstants.TOKEN_PREFIX, ""));
 
             if (user != null) {
                 return new UsernamePasswordAuthenticationToken(user, null, new ArrayList<>());
@@ -0,0 +1,119 @@
+package com.springcoreplatform.security;
+
+import com.springcoreplatform.exceptions.PasswordHashingBusyException;
+import com.springcoreplatform.metrics.RequestStages;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password encoder that applies the {@link PasswordHashingPolicy} and runs every hash and check on a dedicated,
+ * bounded pool.
+ * <p>
+ * BCrypt is CPU bound, so at most {@code security.password.threads} cores hash at once however many logins arrive;
+ * the request threads wait for their result while the rest of the API keeps running. When the queue
+ * ({@code security.password.queue-capacity}) is full, a {@link PasswordHashingBusyException} is thrown instead of
+ * queueing more work. Hashes without the policy prefix or with a lower cost still match and report
+ * {@link #upgradeEncoding(String)}, so Spring Security rehashes them on the next successful login.
+ * <p>
+ * Hashes and checks are timed as the {@value RequestStages#PASSWORD_ENCODE} and {@value RequestStages#PASSWORD_MATCH}
+ * stages from the caller's side, queue wait included.
+ */
+@Component
+public class HashingPasswordEncoder implements PasswordEncoder, MeterBinder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private volatile Timer encodeTimer;
+    private volatile Timer matchTimer;
+
+    public HashingPasswordEncoder(PasswordHashingPolicy policy,
+                                  @Value("${security.password.threads:0}") int threads,
+                                  @Value("${security.password.queue-capacity:100}") int queueCapacity) {
+        BCryptPasswordEncoder bCryptPasswordEncoder = new BCryptPasswordEncoder(policy.getStrength());
+        DelegatingPasswordEncoder delegatingPasswordEncoder = new DelegatingPasswordEncoder(policy.getEncodingId(),
+                Collections.<String, PasswordEncoder>singletonMap(policy.getEncodingId(), bCryptPasswordEncoder));
+        // hashes stored before the policy existed have no {id} prefix
+        delegatingPasswordEncoder.setDefaultPasswordEncoderForMatches(bCryptPasswordEncoder);
+        this.delegate = delegatingPasswordEncoder;
+
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-hashing-"));
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword), encodeTimer);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword), matchTimer);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new ExecutorServiceMetrics(executor, "password.hashing", Tags.empty()).bindTo(registry);
+        encodeTimer = RequestStages.timer(registry, RequestStages.PASSWORD_ENCODE);
+        matchTimer = RequestStages.timer(registry, RequestStages.PASSWORD_MATCH);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Callable<T> task, Timer timer) {
+        long start = System.nanoTime();
+        try {
+            return run(task);
+        } finally {
+            if (timer != null) timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingBusyException("Too many password checks in progress, please retry later.");
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException("Interrupted while hashing the password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw new AuthenticationServiceException("Password hashing failed", e.getCause());
+        }
+    }
+}
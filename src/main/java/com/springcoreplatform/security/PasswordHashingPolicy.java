@@ -0,0 +1,61 @@
+package com.springcoreplatform.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.logging.Logger;
+
+/**
+ * Decides how new password hashes are produced.
+ * <p>
+ * Hashes are stored as {@code {bcrypt}$2a$<cost>$...}: the prefix names the algorithm and the BCrypt cost is part of
+ * the hash, so every stored hash records the policy version that created it. The cost comes from
+ * {@code security.password.strength}, or when that is 0, it is tuned at startup to the highest cost whose hash
+ * still fits in {@code security.password.target-millis} on this machine, never below {@link #MIN_TUNED_STRENGTH}.
+ */
+@Component
+public class PasswordHashingPolicy {
+    private static final Logger LOGGER = Logger.getLogger(PasswordHashingPolicy.class.getName());
+
+    public static final String ENCODING_ID = "bcrypt";
+    public static final int MIN_TUNED_STRENGTH = 10;
+    public static final int MAX_TUNED_STRENGTH = 16;
+
+    private final int strength;
+
+    public PasswordHashingPolicy(@Value("${security.password.strength:0}") int strength,
+                                 @Value("${security.password.target-millis:250}") long targetMillis) {
+        this.strength = strength > 0 ? strength : tune(targetMillis);
+    }
+
+    public String getEncodingId() {
+        return ENCODING_ID;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    private static int tune(long targetMillis) {
+        new BCryptPasswordEncoder(4).encode("warm-up");
+
+        int chosen = MIN_TUNED_STRENGTH;
+        long millis = 0;
+        for (int candidate = MIN_TUNED_STRENGTH; candidate <= MAX_TUNED_STRENGTH; candidate++) {
+            long start = System.nanoTime();
+            new BCryptPasswordEncoder(candidate).encode("password-hashing-calibration");
+            long elapsed = (System.nanoTime() - start) / 1_000_000;
+
+            if (elapsed > targetMillis && candidate > MIN_TUNED_STRENGTH) break;
+            chosen = candidate;
+            millis = elapsed;
+            // each extra cost step doubles the work
+            if (elapsed * 2 > targetMillis) break;
+        }
+
+        LOGGER.info(String.format("Password hashing tuned to BCrypt cost %d (%d ms per hash, budget %d ms)",
+                chosen, millis, targetMillis));
+        return chosen;
+    }
+}
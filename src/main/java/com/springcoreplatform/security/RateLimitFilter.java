@@ -0,0 +1,66 @@
+package com.springcoreplatform.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.springcoreplatform.presentationlayer.model.response.ErrorMessage;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Answers requests over their client's {@link RateLimitPolicy} budget with 429 and a {@code Retry-After} header,
+ * before any password hashing or authentication work is done for them. The error body is written here rather than
+ * through {@code sendError}, whose {@code /error} dispatch would be refused to anonymous clients and turn into a 403.
+ * <p>
+ * The chain holds two instances: one in front of authentication for the anonymous rules, and one behind token
+ * verification for the rules counted per user.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String MESSAGE = "Too many requests, please retry later.";
+
+    private final RateLimitPolicy rateLimitPolicy;
+    private final boolean authenticated;
+    private final ObjectWriter errorWriter;
+
+    public RateLimitFilter(RateLimitPolicy rateLimitPolicy, boolean authenticated, ObjectMapper objectMapper) {
+        this.rateLimitPolicy = rateLimitPolicy;
+        this.authenticated = authenticated;
+        this.errorWriter = objectMapper.writerFor(ErrorMessage.class);
+    }
+
+    /**
+     * Kept apart per instance, otherwise the second instance would take the request as already filtered.
+     */
+    @Override
+    protected String getAlreadyFilteredAttributeName() {
+        return super.getAlreadyFilteredAttributeName() + (authenticated ? ".authenticated" : ".anonymous");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+            throws ServletException, IOException {
+        RateLimiter limiter = rateLimitPolicy.limiterFor(req, authenticated);
+        long waitNanos = limiter != null ? limiter.tryAcquire(rateLimitPolicy.clientOf(req)) : 0;
+
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+            res.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+            res.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            errorWriter.writeValue(res.getOutputStream(), new ErrorMessage(new Date(), MESSAGE));
+            return;
+        }
+
+        chain.doFilter(req, res);
+    }
+}
@@ -0,0 +1,126 @@
+package com.springcoreplatform.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Decides which requests are rate limited per client and how strictly.
+ * <p>
+ * Login, sign up and random city generation each get their own {@link RateLimiter}, configured with
+ * {@code security.rate-limit.<rule>.permits-per-minute} and {@code burst}; 0 permits per minute turns a rule off and
+ * {@code security.rate-limit.enabled=false} turns them all off. Every rule tracks at most
+ * {@code security.rate-limit.max-clients} clients and forgets those idle for {@code security.rate-limit.idle-timeout}.
+ * <p>
+ * Login and sign up are anonymous and counted per client address. Behind a reverse proxy that address comes from
+ * {@code X-Forwarded-For}, which Tomcat only accepts from trusted proxies ({@code server.forward-headers-strategy}).
+ * Random city generation needs a token and is counted per user, checked once the token has been verified.
+ */
+@Component
+public class RateLimitPolicy implements MeterBinder {
+
+    public static final String LOGIN = "login";
+    public static final String SIGN_UP = "signup";
+    public static final String RANDOM_CITY = "random-city";
+
+    private final List<Rule> rules;
+
+    public RateLimitPolicy(@Value("${security.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${security.rate-limit.max-clients:100000}") long maxClients,
+                           @Value("${security.rate-limit.idle-timeout:10m}") Duration idleTimeout,
+                           @Value("${security.rate-limit.login.permits-per-minute:10}") double loginPerMinute,
+                           @Value("${security.rate-limit.login.burst:5}") int loginBurst,
+                           @Value("${security.rate-limit.signup.permits-per-minute:5}") double signUpPerMinute,
+                           @Value("${security.rate-limit.signup.burst:5}") int signUpBurst,
+                           @Value("${security.rate-limit.random-city.permits-per-minute:60}") double randomCityPerMinute,
+                           @Value("${security.rate-limit.random-city.burst:20}") int randomCityBurst) {
+        List<Rule> configured = new ArrayList<>();
+        if (enabled) {
+            addRule(configured, LOGIN, "/users/login", false, loginPerMinute, loginBurst, maxClients, idleTimeout);
+            addRule(configured, SIGN_UP, SecurityConstants.SIGN_UP_URL, false, signUpPerMinute, signUpBurst,
+                    maxClients, idleTimeout);
+            addRule(configured, RANDOM_CITY, "/city/newRandomCity", true, randomCityPerMinute, randomCityBurst,
+                    maxClients, idleTimeout);
+        }
+        this.rules = Collections.unmodifiableList(configured);
+    }
+
+    /**
+     * The limiter that applies to the request, or null when it is not rate limited. {@code authenticated} selects the
+     * rules checked after the token has been verified instead of those checked before authentication.
+     */
+    public RateLimiter limiterFor(HttpServletRequest request, boolean authenticated) {
+        for (Rule rule : rules) {
+            if (rule.authenticated == authenticated && rule.matcher.matches(request)) return rule.limiter;
+        }
+        return null;
+    }
+
+    /**
+     * The key requests are counted under: the authenticated user when there is one, otherwise the client address.
+     */
+    public String clientOf(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return request.getRemoteAddr();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Rule rule : rules) {
+            RateLimiter limiter = rule.limiter;
+            FunctionCounter.builder("security.rate.limit", limiter, RateLimiter::getAllowed)
+                    .tag("rule", limiter.getName())
+                    .tag("result", "allowed")
+                    .description("Requests checked by the per-client rate limiter")
+                    .register(registry);
+            FunctionCounter.builder("security.rate.limit", limiter, RateLimiter::getRejected)
+                    .tag("rule", limiter.getName())
+                    .tag("result", "rejected")
+                    .description("Requests checked by the per-client rate limiter")
+                    .register(registry);
+            Gauge.builder("security.rate.limit.clients", limiter, RateLimiter::getClientCount)
+                    .tag("rule", limiter.getName())
+                    .description("Clients currently tracked by the rate limiter")
+                    .register(registry);
+        }
+    }
+
+    private static void addRule(List<Rule> rules, String name, String path, boolean authenticated,
+                                double permitsPerMinute, int burst, long maxClients, Duration idleTimeout) {
+        if (permitsPerMinute <= 0) return;
+
+        rules.add(new Rule(new AntPathRequestMatcher(path, HttpMethod.POST.name()), authenticated,
+                new RateLimiter(name, permitsPerMinute / 60, burst, maxClients, idleTimeout)));
+    }
+
+    private static final class Rule {
+        private final RequestMatcher matcher;
+        private final boolean authenticated;
+        private final RateLimiter limiter;
+
+        private Rule(RequestMatcher matcher, boolean authenticated, RateLimiter limiter) {
+            this.matcher = matcher;
+            this.authenticated = authenticated;
+            this.limiter = limiter;
+        }
+    }
+}
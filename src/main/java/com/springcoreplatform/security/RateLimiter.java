@@ -0,0 +1,82 @@
+package com.springcoreplatform.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-client token bucket, implemented as the generic cell rate algorithm: each client is a single
+ * {@link AtomicLong} holding the time its bucket will be full again, updated with one compare-and-set per request.
+ * No lock is taken, and clients never contend with each other.
+ * <p>
+ * A client may send {@code burst} requests at once and then one every {@code 1 / permitsPerSecond} seconds. At most
+ * {@code maxClients} clients are tracked; clients idle for {@code idleTimeout} (or for the time their bucket needs to
+ * refill, if longer) are dropped, which loses nothing because their bucket is full again anyway.
+ */
+public class RateLimiter {
+
+    private final String name;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final Cache<String, AtomicLong> clients;
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public RateLimiter(String name, double permitsPerSecond, int burst, long maxClients, Duration idleTimeout) {
+        if (permitsPerSecond <= 0 || burst < 1)
+            throw new IllegalArgumentException("permitsPerSecond must be positive and burst at least 1");
+
+        this.name = name;
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.toleranceNanos = intervalNanos * burst;
+        long refillNanos = Math.max(idleTimeout.toNanos(), toleranceNanos);
+        this.clients = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(refillNanos, TimeUnit.NANOSECONDS)
+                .build();
+    }
+
+    /**
+     * Takes a permit for the client.
+     *
+     * @return 0 when the request may proceed, otherwise how many nanoseconds until the client has a permit again
+     */
+    public long tryAcquire(String client) {
+        AtomicLong fullAt = clients.get(client, key -> new AtomicLong(System.nanoTime() - toleranceNanos));
+        long now = System.nanoTime();
+
+        while (true) {
+            long current = fullAt.get();
+            long next = (current - now < 0 ? now : current) + intervalNanos;
+            long waitNanos = next - now - toleranceNanos;
+            if (waitNanos > 0) {
+                rejected.increment();
+                return waitNanos;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                allowed.increment();
+                return 0;
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getAllowed() {
+        return allowed.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getClientCount() {
+        return clients.estimatedSize();
+    }
+}
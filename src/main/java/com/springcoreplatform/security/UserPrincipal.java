@@ -0,0 +1,26 @@
+package com.springcoreplatform.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * Authenticated user that also carries the public user id, so a successful login does not need a second lookup
+ * to fill the {@code UserID} response header.
+ */
+public class UserPrincipal extends User {
+
+    private static final long serialVersionUID = 4270133512377164711L;
+
+    private final String userId;
+
+    public UserPrincipal(String userId, String email, String password, Collection<? extends GrantedAuthority> authorities) {
+        super(email, password, authorities);
+        this.userId = userId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+}
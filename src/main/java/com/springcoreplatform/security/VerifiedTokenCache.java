@@ -0,0 +1,140 @@
+package com.springcoreplatform.security;
+
+import io.jsonwebtoken.Claims;
+import com.springcoreplatform.metrics.RequestStages;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers the subject of JWTs whose signature was already verified, until the token expires.
+ * <p>
+ * Clients send the same token for days, so after the first request the HMAC check and claims parsing are replaced
+ * by a map lookup on the exact token string. Tokens without an expiration are never cached. The cache holds at most
+ * {@code security.token-cache.max-size} tokens; when full, expired tokens are dropped first, then arbitrary ones.
+ * A size of 0 disables caching. Verifications that miss the cache are timed as the
+ * {@value RequestStages#JWT_VERIFY} stage.
+ */
+@Component
+public class VerifiedTokenCache implements MeterBinder {
+
+    private final Map<String, VerifiedToken> tokens = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final AppProperties appProperties;
+    private final int maxSize;
+    private volatile Timer verifyTimer;
+
+    public VerifiedTokenCache(AppProperties appProperties,
+                              @Value("${security.token-cache.max-size:10000}") int maxSize) {
+        this.appProperties = appProperties;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Subject of the token, verifying and parsing it only when it is not cached.
+     *
+     * @throws io.jsonwebtoken.JwtException when the token is expired, malformed or its signature does not match
+     */
+    public String getSubject(String token) {
+        VerifiedToken cached = tokens.get(token);
+        if (cached != null) {
+            if (cached.expiresAt > System.currentTimeMillis()) {
+                hits.increment();
+                return cached.subject;
+            }
+            tokens.remove(token, cached);
+        }
+
+        misses.increment();
+        long start = System.nanoTime();
+        Claims claims;
+        try {
+            claims = Jwts.parser()
+                    .setSigningKey(appProperties.getSigningKey())
+                    .parseClaimsJws(token)
+                    .getBody();
+        } finally {
+            Timer timer = verifyTimer;
+            if (timer != null) timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        String subject = claims.getSubject();
+        Date expiration = claims.getExpiration();
+        if (subject != null && expiration != null && maxSize > 0) {
+            if (tokens.size() >= maxSize) evict();
+            tokens.put(token, new VerifiedToken(subject, expiration.getTime()));
+        }
+        return subject;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return tokens.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("security.token.cache", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .description("Requests authorized from the verified token cache")
+                .register(registry);
+        FunctionCounter.builder("security.token.cache", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .description("Requests whose token had to be verified and parsed")
+                .register(registry);
+        Gauge.builder("security.token.cache.size", tokens, Map::size)
+                .description("Verified tokens currently cached")
+                .register(registry);
+        verifyTimer = RequestStages.timer(registry, RequestStages.JWT_VERIFY);
+    }
+
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) return;
+
+        try {
+            long now = System.currentTimeMillis();
+            tokens.values().removeIf(token -> token.expiresAt <= now);
+
+            Iterator<String> iterator = tokens.keySet().iterator();
+            int target = maxSize - Math.max(1, maxSize / 10);
+            while (tokens.size() > target && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static final class VerifiedToken {
+        private final String subject;
+        private final long expiresAt;
+
+        private VerifiedToken(String subject, long expiresAt) {
+            this.subject = subject;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.springcoreplatform.security;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.springcoreplatform.service.UserService;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
@@ -7,17 +8,29 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 @EnableWebSecurity
 public class WebSecurity extends WebSecurityConfigurerAdapter {
 
     private final UserService userDetailsService;
-    private final BCryptPasswordEncoder bCryptPasswordEncoder;
+    private final PasswordEncoder passwordEncoder;
+    private final AppProperties appProperties;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final RateLimitPolicy rateLimitPolicy;
+    private final ObjectMapper objectMapper;
 
-    public WebSecurity(UserService userDetailsService, BCryptPasswordEncoder bCryptPasswordEncoder) {
+    public WebSecurity(UserService userDetailsService, PasswordEncoder passwordEncoder,
+                       AppProperties appProperties, VerifiedTokenCache verifiedTokenCache,
+                       RateLimitPolicy rateLimitPolicy, ObjectMapper objectMapper) {
         this.userDetailsService = userDetailsService;
-        this.bCryptPasswordEncoder = bCryptPasswordEncoder;
+        this.passwordEncoder = passwordEncoder;
+        this.appProperties = appProperties;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.rateLimitPolicy = rateLimitPolicy;
+        this.objectMapper = objectMapper;
     }
 
     @Override
@@ -25,10 +38,13 @@ public class WebSecurity extends WebSecurityConfigurerAdapter {
 
         http.csrf().disable().authorizeRequests()
                 .antMatchers(HttpMethod.POST, SecurityConstants.SIGN_UP_URL).permitAll()
+                .antMatchers(HttpMethod.GET, "/actuator/health", "/actuator/health/**").permitAll()
                 .antMatchers("/v2/api-docs", "/configuration/**", "/swagger-resources/**", "/configuration/**", "/swagger-ui.html", "/swagger-ui/**", "/webjars/**").permitAll()
                 .anyRequest().authenticated()
                 .and().addFilter(getAuthenticationFilter())
-                .addFilter( new AuthorizationFilter(authenticationManager()))
+                .addFilter( new AuthorizationFilter(authenticationManager(), verifiedTokenCache))
+                .addFilterBefore(new RateLimitFilter(rateLimitPolicy, false, objectMapper), UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(new RateLimitFilter(rateLimitPolicy, true, objectMapper), BasicAuthenticationFilter.class)
                 .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS)
         ;
     }
@@ -36,12 +52,12 @@ public class WebSecurity extends WebSecurityConfigurerAdapter {
     @Override
     public void configure(AuthenticationManagerBuilder auth) throws Exception {
 
-        auth.userDetailsService(userDetailsService).passwordEncoder(bCryptPasswordEncoder);
+        auth.userDetailsService(userDetailsService).passwordEncoder(passwordEncoder);
     }
 
     public AuthenticationFilter getAuthenticationFilter() throws Exception {
 
-        final AuthenticationFilter filter = new AuthenticationFilter(authenticationManager());
+        final AuthenticationFilter filter = new AuthenticationFilter(authenticationManager(), appProperties, objectMapper);
         filter.setFilterProcessesUrl("/users/login");
         return filter;
     }
@@ -0,0 +1,15 @@
+package com.springcoreplatform.service;
+
+import com.springcoreplatform.shared.dto.CityImportJobDto;
+
+import java.nio.file.Path;
+
+public interface CityImportService {
+
+    /**
+     * @throws java.util.concurrent.RejectedExecutionException when the import pool and its queue are full
+     */
+    CityImportJobDto startImport(Path csvFile, String fileName);
+
+    CityImportJobDto getImport(String jobId);
+}
@@ -1,14 +1,49 @@
 package com.springcoreplatform.service;
 
+import com.springcoreplatform.shared.dto.CityBatchDto;
 import com.springcoreplatform.shared.dto.CityDto;
+import com.springcoreplatform.shared.dto.CityPageDto;
+import com.springcoreplatform.shared.dto.CityStatsDto;
 
+import java.util.Iterator;
 import java.util.List;
 
 public interface CityService {
 
     List<CityDto> getCities();
 
+    /**
+     * Changes whenever the list returned by {@link #getCities()} is replaced. Cities added at runtime are not part
+     * of that list and do not change it.
+     */
+    long getDatasetVersion();
+
+    /**
+     * False while the dataset is still being loaded in the background, or when loading it failed.
+     */
+    boolean isDatasetLoaded();
+
+    CityPageDto getCities(String cursor, int limit);
+
+    List<CityDto> getCitiesFrom(String cursor);
+
+    List<CityDto> getNearestCities(double lat, double lon, int k);
+
+    List<CityDto> getCitiesWithin(double minLat, double minLon, double maxLat, double maxLon, int limit);
+
+    /**
+     * Cities whose name starts with {@code prefix}, ignoring case, in name order; {@code state} is optional.
+     */
+    List<CityDto> searchCities(String prefix, String state, int limit);
+
+    /**
+     * City count and coordinate extents, overall and per state, maintained as cities are added.
+     */
+    CityStatsDto getCityStats();
+
     CityDto addCity(CityDto cityDto);
 
     CityDto addRandomCity();
+
+    CityBatchDto addCities(Iterator<CityDto> cities, Integer batchSize);
 }
@@ -1,10 +1,23 @@
 package com.springcoreplatform.service;
 
+import com.springcoreplatform.shared.dto.FileDto;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+
 public interface FileService {
 
     void init();
 
-    void save(MultipartFile file);
+    FileDto save(MultipartFile file);
+
+    /**
+     * Stores the content under its SHA-256, or returns the existing file when the same content is already stored.
+     *
+     * @param expectedHash hex SHA-256 announced by the client, or null; when it names a stored file the content is
+     *                     not read at all
+     */
+    FileDto store(InputStream content, String fileName, String contentType, String expectedHash);
+
+    FileDto getFile(long id);
 }
@@ -1,11 +1,13 @@
 package com.springcoreplatform.service;
 
 import com.springcoreplatform.shared.dto.UserDto;
+import com.springcoreplatform.shared.dto.UserPageDto;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
 import java.util.List;
 
-public interface UserService extends UserDetailsService {
+public interface UserService extends UserDetailsService, UserDetailsPasswordService {
 
     UserDto createUser(UserDto user);
 
@@ -18,4 +20,9 @@ public interface UserService extends UserDetailsService {
     void deleteUser(String id);
 
     List<UserDto> getUsers(int page, int limit);
+
+    /**
+     * Users ordered by id, starting after the position encoded in {@code after} (the first page when null).
+     */
+    UserPageDto getUsers(String after, int limit);
 }
@@ -0,0 +1,276 @@
+package com.springcoreplatform.service.impl;
+
+import com.springcoreplatform.exceptions.CityServiceException;
+import com.springcoreplatform.presentationlayer.model.response.ErrorMessages;
+import com.springcoreplatform.service.CityImportService;
+import com.springcoreplatform.service.CityService;
+import com.springcoreplatform.shared.Utils;
+import com.springcoreplatform.shared.dto.CityBatchDto;
+import com.springcoreplatform.shared.dto.CityDto;
+import com.springcoreplatform.shared.dto.CityImportJobDto;
+import com.springcoreplatform.shared.dto.CityImportStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Imports uploaded city CSV files in the background.
+ * <p>
+ * Each job reads its file line by line and hands validated rows to {@link CityService#addCities} one chunk at a
+ * time. The reader only pulls the next chunk once the previous one is committed, so a slow database throttles the
+ * parser instead of letting parsed rows pile up in memory. Jobs run on a small bounded pool; when it is full new
+ * imports are refused instead of queued without limit.
+ */
+@Service
+public class CityImportServiceImpl implements CityImportService {
+    private static final Logger LOGGER = Logger.getLogger(CityImportServiceImpl.class.getName());
+    private static final int MAX_REJECTION_SAMPLES = 10;
+    private static final int MAX_RETAINED_JOBS = 100;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor executor;
+
+    @Autowired
+    CityService cityService;
+
+    @Autowired
+    Utils utils;
+
+    @Value("${city.import.threads:2}")
+    int threads;
+
+    @Value("${city.import.queue-capacity:16}")
+    int queueCapacity;
+
+    @Value("${city.import.chunk-size:1000}")
+    int chunkSize;
+
+    @PostConstruct
+    public void init() {
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("city-import-"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public CityImportJobDto startImport(Path csvFile, String fileName) {
+
+        evictFinishedJobs();
+
+        ImportJob job = new ImportJob(utils.generateId(20),
+                fileName != null ? fileName : csvFile.getFileName().toString());
+        jobs.put(job.id, job);
+
+        try {
+            executor.execute(() -> run(job, csvFile));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            throw new RejectedExecutionException("Too many city imports in progress, please retry later.", e);
+        }
+
+        return job.toDto();
+    }
+
+    @Override
+    public CityImportJobDto getImport(String jobId) {
+
+        ImportJob job = jobs.get(jobId);
+
+        if (job == null)
+            throw new CityServiceException(ErrorMessages.NO_RECORD_FOUND.getErrorMessage() + " jobId = " + jobId);
+
+        return job.toDto();
+    }
+
+    private void run(ImportJob job, Path csvFile) {
+        job.start();
+        List<CityDto> chunk = new ArrayList<>(chunkSize);
+
+        try (BufferedReader reader = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8)) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty()) continue;
+
+                String[] fields = line.split(",", -1);
+                if (lineNumber == 1 && isHeader(fields)) continue;
+                String rejection = validate(fields);
+
+                job.parsed.incrementAndGet();
+                if (rejection != null) {
+                    job.reject("line " + lineNumber + ": " + rejection);
+                    continue;
+                }
+
+                chunk.add(toCity(fields));
+                if (chunk.size() == chunkSize) {
+                    write(job, chunk);
+                }
+            }
+            write(job, chunk);
+            job.finish(CityImportStatus.COMPLETED, null);
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "City import " + job.id + " failed", e);
+            job.finish(CityImportStatus.FAILED, e.getMessage());
+        }
+
+        LOGGER.info(String.format("City import %s of %s: %s, %d parsed, %d inserted, %d rejected",
+                job.id, job.fileName, job.status, job.parsed.get(), job.inserted.get(), job.rejected.get()));
+    }
+
+    private void write(ImportJob job, List<CityDto> chunk) {
+        if (chunk.isEmpty()) return;
+
+        CityBatchDto result = cityService.addCities(chunk.iterator(), chunkSize);
+        job.inserted.addAndGet(result.getRows());
+        chunk.clear();
+    }
+
+    private static boolean isHeader(String[] fields) {
+        return fields.length == 6 && validateDegrees(fields[0].trim(), 90, "latD") != null
+                && validateDegrees(fields[2].trim(), 180, "longD") != null;
+    }
+
+    private static String validate(String[] fields) {
+        if (fields.length != 6) return "expected 6 fields but found " + fields.length;
+
+        String degreesError = validateDegrees(fields[0].trim(), 90, "latD");
+        if (degreesError != null) return degreesError;
+        degreesError = validateDegrees(fields[2].trim(), 180, "longD");
+        if (degreesError != null) return degreesError;
+
+        String ns = fields[1].trim();
+        if (!"N".equalsIgnoreCase(ns) && !"S".equalsIgnoreCase(ns)) return "ns must be N or S";
+        String ew = fields[3].trim();
+        if (!"E".equalsIgnoreCase(ew) && !"W".equalsIgnoreCase(ew)) return "ew must be E or W";
+
+        if (fields[4].trim().isEmpty()) return "city is empty";
+        if (fields[5].trim().isEmpty()) return "state is empty";
+        return null;
+    }
+
+    private static String validateDegrees(String value, double max, String field) {
+        try {
+            double degrees = Double.parseDouble(value);
+            return degrees >= 0 && degrees <= max ? null : field + " must be between 0 and " + (int) max;
+        } catch (NumberFormatException e) {
+            return field + " is not a number";
+        }
+    }
+
+    private static CityDto toCity(String[] fields) {
+        return CityDto.builder()
+                .latD(fields[0].trim())
+                .ns(fields[1].trim().toUpperCase())
+                .longD(fields[2].trim())
+                .ew(fields[3].trim().toUpperCase())
+                .city(fields[4].trim())
+                .state(fields[5].trim())
+                .build();
+    }
+
+    private void evictFinishedJobs() {
+        int excess = jobs.size() - MAX_RETAINED_JOBS + 1;
+        if (excess <= 0) return;
+
+        List<ImportJob> finished = jobs.values().stream()
+                .filter(job -> job.finishedAt != null)
+                .sorted(Comparator.comparing(job -> job.finishedAt))
+                .limit(excess)
+                .collect(Collectors.toList());
+        for (ImportJob job : finished) {
+            jobs.remove(job.id);
+        }
+    }
+
+    private static final class ImportJob {
+        private final String id;
+        private final String fileName;
+        private final AtomicLong parsed = new AtomicLong();
+        private final AtomicLong inserted = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final List<String> rejections = new ArrayList<>();
+        private volatile CityImportStatus status = CityImportStatus.QUEUED;
+        private volatile long startNanos;
+        private volatile long endNanos;
+        private volatile Date startedAt;
+        private volatile Date finishedAt;
+        private volatile String error;
+
+        private ImportJob(String id, String fileName) {
+            this.id = id;
+            this.fileName = fileName;
+        }
+
+        private void start() {
+            startNanos = System.nanoTime();
+            startedAt = new Date();
+            status = CityImportStatus.RUNNING;
+        }
+
+        private void reject(String reason) {
+            rejected.incrementAndGet();
+            synchronized (rejections) {
+                if (rejections.size() < MAX_REJECTION_SAMPLES) rejections.add(reason);
+            }
+        }
+
+        private void finish(CityImportStatus finalStatus, String message) {
+            endNanos = System.nanoTime();
+            error = message;
+            finishedAt = new Date();
+            status = finalStatus;
+        }
+
+        private CityImportJobDto toDto() {
+            CityImportJobDto returnValue = new CityImportJobDto();
+            returnValue.setJobId(id);
+            returnValue.setFileName(fileName);
+            returnValue.setStatus(status.name());
+            returnValue.setRowsParsed(parsed.get());
+            returnValue.setRowsInserted(inserted.get());
+            returnValue.setRowsRejected(rejected.get());
+            returnValue.setStartedAt(startedAt);
+            returnValue.setFinishedAt(finishedAt);
+            returnValue.setError(error);
+            synchronized (rejections) {
+                returnValue.setRejections(new ArrayList<>(rejections));
+            }
+
+            if (startedAt != null) {
+                long elapsedNanos = (finishedAt != null ? endNanos : System.nanoTime()) - startNanos;
+                if (elapsedNanos > 0) {
+                    returnValue.setRowsPerSecond(inserted.get() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos);
+                }
+            }
+            return returnValue;
+        }
+    }
+}
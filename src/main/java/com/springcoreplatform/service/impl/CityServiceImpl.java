@@ -1,28 +1,65 @@
 package com.springcoreplatform.service.impl;
 
+import com.springcoreplatform.exceptions.CityServiceException;
+import com.springcoreplatform.io.dataset.CityCsvLoader;
+import com.springcoreplatform.io.dataset.CitySnapshot;
 import com.springcoreplatform.io.entity.CityEntity;
 import com.springcoreplatform.io.repositories.CityRepository;
+import com.springcoreplatform.presentationlayer.model.response.ErrorMessages;
 import com.springcoreplatform.service.CityService;
+import com.springcoreplatform.shared.Cursor;
 import com.springcoreplatform.shared.Utils;
+import com.springcoreplatform.shared.city.CityNameIndex;
+import com.springcoreplatform.shared.city.CitySpatialIndex;
+import com.springcoreplatform.shared.city.CityStats;
+import com.springcoreplatform.shared.city.CityStore;
+import com.springcoreplatform.shared.dto.CityBatchDto;
 import com.springcoreplatform.shared.dto.CityDto;
-import org.springframework.beans.BeanUtils;
+import com.springcoreplatform.shared.dto.CityPageDto;
+import com.springcoreplatform.shared.dto.CityStatsDto;
+import com.springcoreplatform.shared.mapper.CityMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 
 @Service
+@Lazy(false)
 public class CityServiceImpl implements CityService {
     private static final Logger LOGGER = Logger.getLogger(CityServiceImpl.class.getName());
     private static final String FILE_NAME = "src/main/resources/assets/csv/cities.csv";
-    private final List<CityDto> cities = new ArrayList<>();
+    private static final int MAX_NEAREST = 1000;
+    private static final int MAX_WITHIN = 10000;
+    private static final int MAX_SEARCH = 100;
+    private static final int MAX_PAGE = 10000;
+    private static final int INDEX_PAGE_SIZE = 1000;
+    private static final int MAX_BATCH_SIZE = 10000;
+    private static final long LOAD_WAIT_SECONDS = 30;
+    private volatile CityStore cityStore = CityStore.empty();
+    private volatile CitySpatialIndex spatialIndex = new CitySpatialIndex(cityStore);
+    private volatile CityNameIndex nameIndex = new CityNameIndex(cityStore);
+    private volatile CityStats cityStats = new CityStats(cityStore);
+    private final AtomicLong datasetVersion = new AtomicLong();
+    private final CompletableFuture<Void> loaded = new CompletableFuture<>();
 
     @Autowired
     Utils utils;
@@ -30,45 +67,242 @@ public class CityServiceImpl implements CityService {
     @Autowired
     CityRepository cityRepository;
 
+    @Autowired
+    ApplicationStartup applicationStartup;
+
+    @Value("${city.batch-size:500}")
+    int defaultBatchSize;
+
+    @Value("${city.load.background:false}")
+    boolean backgroundLoad;
+
+    @Value("${city.snapshot.path:}")
+    String snapshotPath;
+
+    @Value("${city.snapshot.verify:false}")
+    boolean verifySnapshot;
+
+    /**
+     * Loads the CSV dataset and indexes the stored cities, on a background thread when {@code city.load.background}
+     * is true. Until that finishes, reads see an empty dataset and writes wait, so no city is indexed twice.
+     */
     @PostConstruct
     public void init() {
+        if (!backgroundLoad) {
+            load();
+            return;
+        }
+
+        Thread loader = new Thread(this::load, "city-load");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    private void load() {
+        StartupStep step = applicationStartup.start("city.dataset.load");
+        long start = System.nanoTime();
         try {
-            BufferedReader br = new BufferedReader(new FileReader(FILE_NAME));
-            String line;
-            while ((line = br.readLine()) != null) {
-                String[] cityCsv = line.split(",");
-                CityDto cityObj = new CityDto();
-                cityObj.setLatD(cityCsv[0]);
-                cityObj.setNs(cityCsv[1]);
-                cityObj.setLongD(cityCsv[2]);
-                cityObj.setEw(cityCsv[3]);
-                cityObj.setCity(cityCsv[4]);
-                cityObj.setState(cityCsv[5]);
-                cities.add(cityObj);
+            CityStore store = cityStore;
+            boolean csvLoaded = false;
+            try {
+                store = loadDataset(Paths.get(FILE_NAME));
+                csvLoaded = true;
+            } catch (IOException e) {
+                LOGGER.info("Error while reading file: " + e.getMessage());
             }
-            LOGGER.info("Cities loaded: " + cities.size());
+
+            CitySpatialIndex index = new CitySpatialIndex(store);
+            CityNameIndex names = new CityNameIndex(store);
+            CityStats stats = new CityStats(store);
+            indexStoredCities(index, names, stats);
+
+            cityStore = store;
+            spatialIndex = index;
+            nameIndex = names;
+            cityStats = stats;
+            if (csvLoaded) datasetVersion.incrementAndGet();
+            step.tag("cities", Integer.toString(index.size()));
+            loaded.complete(null);
+
+            LOGGER.info(String.format("Loaded %d cities in %d ms", index.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+        } catch (RuntimeException e) {
+            loaded.completeExceptionally(e);
+            if (!backgroundLoad) throw e;
+            LOGGER.log(Level.SEVERE, "City data failed to load", e);
+        } finally {
+            step.end();
+        }
+    }
+
+    /**
+     * Maps the snapshot at {@code city.snapshot.path} when it matches the CSV, otherwise parses the CSV and writes a
+     * fresh snapshot for the next start. An empty path always parses the CSV.
+     */
+    private CityStore loadDataset(Path csv) throws IOException {
+        if (snapshotPath == null || snapshotPath.isEmpty()) return new CityCsvLoader().load(csv);
+
+        Path snapshot = Paths.get(snapshotPath);
+        CityStore store = CitySnapshot.read(snapshot, csv, verifySnapshot);
+        if (store != null) return store;
+
+        store = new CityCsvLoader().load(csv);
+        try {
+            CitySnapshot.write(store, csv, snapshot);
         } catch (IOException e) {
-            LOGGER.info("Error while reading file: " + e.getMessage());
+            LOGGER.log(Level.WARNING, "Could not write city snapshot " + snapshot, e);
         }
+        return store;
+    }
+
+    private void indexStoredCities(CitySpatialIndex index, CityNameIndex names, CityStats stats) {
+        long lastId = 0;
+        List<CityEntity> page;
+        do {
+            page = cityRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, INDEX_PAGE_SIZE));
+            for (CityEntity cityEntity : page) {
+                CityDto cityDto = CityMapper.toDto(cityEntity);
+                index.add(cityDto);
+                names.add(cityDto);
+                stats.add(cityDto);
+                lastId = cityEntity.getId();
+            }
+        } while (page.size() == INDEX_PAGE_SIZE);
+    }
+
+    /**
+     * Blocks writers while the dataset is still loading, so the loader's scan of the {@code city} table and the
+     * cities written meanwhile are never indexed both.
+     */
+    private void awaitLoaded() {
+        if (loaded.isDone() && !loaded.isCompletedExceptionally()) return;
+
+        try {
+            loaded.get(LOAD_WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CityServiceException("City data is still loading, please retry later.");
+        } catch (ExecutionException | TimeoutException e) {
+            throw new CityServiceException("City data is not available, please retry later.");
+        }
+    }
+
+    private void indexCity(CityDto cityDto) {
+        spatialIndex.add(cityDto);
+        nameIndex.add(cityDto);
+        cityStats.add(cityDto);
     }
 
     @Override
     public List<CityDto> getCities() {
-        return cities;
+        return cityStore.asDtoList();
+    }
+
+    @Override
+    public long getDatasetVersion() {
+        return datasetVersion.get();
+    }
+
+    @Override
+    public boolean isDatasetLoaded() {
+        return loaded.isDone() && !loaded.isCompletedExceptionally();
+    }
+
+    @Override
+    public CityPageDto getCities(String cursor, int limit) {
+
+        if (limit < 1 || limit > MAX_PAGE)
+            throw new CityServiceException(ErrorMessages.INVALID_QUERY_PARAMETER.getErrorMessage() + "limit must be between 1 and " + MAX_PAGE);
+
+        List<CityDto> cities = cityStore.asDtoList();
+        int from = position(cursor, cities.size());
+        int to = (int) Math.min(cities.size(), (long) from + limit);
+
+        String nextCursor = to < cities.size() ? Cursor.encode(to) : null;
+
+        return new CityPageDto(new ArrayList<>(cities.subList(from, to)), nextCursor);
+    }
+
+    @Override
+    public List<CityDto> getCitiesFrom(String cursor) {
+
+        List<CityDto> cities = cityStore.asDtoList();
+
+        return cities.subList(position(cursor, cities.size()), cities.size());
+    }
+
+    private static int position(String cursor, int size) {
+        if (cursor == null || cursor.isEmpty()) return 0;
+
+        long position;
+        try {
+            position = Cursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new CityServiceException(ErrorMessages.INVALID_QUERY_PARAMETER.getErrorMessage() + "cursor is not valid");
+        }
+
+        if (position < 0)
+            throw new CityServiceException(ErrorMessages.INVALID_QUERY_PARAMETER.getErrorMessage() + "cursor is not valid");
+
+        return (int) Math.min(position, size);
+    }
+
+    @Override
+    public List<CityDto> getNearestCities(double lat, double lon, int k) {
+
+        if (Math.abs(lat) > 90 || Math.abs(lon) > 180)
+            throw new CityServiceException(ErrorMessages.INVALID_QUERY_PARAMETER.getErrorMessage() + "lat must be within [-90, 90] and lon within [-180, 180]");
+
+        if (k < 1 || k > MAX_NEAREST)
+            throw new CityServiceException(ErrorMessages.INVALID_QUERY_PARAMETER.getErrorMessage() + "k must be between 1 and " + MAX_NEAREST);
+
+        return spatialIndex.nearest(lat, lon, k);
+    }
+
+    @Override
+    public List<CityDto> getCitiesWithin(double minLat, double minLon, double maxLat, double maxLon, int limit) {
+
+        if (Math.abs(minLat) > 90 || Math.abs(maxLat) > 90 || minLat > maxLat)
+            throw new CityServiceException(ErrorMessages.INVALID_QUERY_PARAMETER.getErrorMessage() + "minLat and maxLat must be within [-90, 90] and minLat <= maxLat");
+
+        if (Math.abs(minLon) > 180 || Math.abs(maxLon) > 180)
+            throw new CityServiceException(ErrorMessages.INVALID_QUERY_PARAMETER.getErrorMessage() + "minLon and maxLon must be within [-180, 180]");
+
+        if (limit < 1 || limit > MAX_WITHIN)
+            throw new CityServiceException(ErrorMessages.INVALID_QUERY_PARAMETER.getErrorMessage() + "limit must be between 1 and " + MAX_WITHIN);
+
+        return spatialIndex.within(minLat, minLon, maxLat, maxLon, limit);
+    }
+
+    @Override
+    public List<CityDto> searchCities(String prefix, String state, int limit) {
+
+        if (prefix == null || prefix.trim().isEmpty())
+            throw new CityServiceException(ErrorMessages.INVALID_QUERY_PARAMETER.getErrorMessage() + "prefix must not be empty");
+
+        if (limit < 1 || limit > MAX_SEARCH)
+            throw new CityServiceException(ErrorMessages.INVALID_QUERY_PARAMETER.getErrorMessage() + "limit must be between 1 and " + MAX_SEARCH);
+
+        return nameIndex.search(prefix, state == null || state.trim().isEmpty() ? null : state.trim(), limit);
+    }
+
+    @Override
+    public CityStatsDto getCityStats() {
+        return cityStats.toDto();
     }
 
     @Override
     public CityDto addCity(CityDto cityDto) {
 
-        CityEntity cityEntity = new CityEntity();
+        awaitLoaded();
 
-        BeanUtils.copyProperties(cityDto, cityEntity);
+        CityEntity cityEntity = CityMapper.toEntity(cityDto);
 
         CityEntity storedCityDetails = cityRepository.save(cityEntity);
 
-        CityDto returnValue = new CityDto();
+        CityDto returnValue = CityMapper.toDto(storedCityDetails);
 
-        BeanUtils.copyProperties(storedCityDetails, returnValue);
+        indexCity(returnValue);
 
         return returnValue;
     }
@@ -76,7 +310,7 @@ public class CityServiceImpl implements CityService {
     @Override
     public CityDto addRandomCity() {
 
-        CityEntity cityEntity = new CityEntity();
+        awaitLoaded();
 
         CityDto randomCityDto = CityDto.builder()
                 .latD(utils.generateRandomInt())
@@ -87,15 +321,49 @@ public class CityServiceImpl implements CityService {
                 .state(utils.generateRandomValues(20))
                 .build();
 
-        BeanUtils.copyProperties(randomCityDto, cityEntity);
+        CityEntity cityEntity = CityMapper.toEntity(randomCityDto);
 
         CityEntity storedCityDetails = cityRepository.save(cityEntity);
 
-        CityDto returnValue = new CityDto();
+        CityDto returnValue = CityMapper.toDto(storedCityDetails);
 
-        BeanUtils.copyProperties(storedCityDetails, returnValue);
+        indexCity(returnValue);
 
         return returnValue;
     }
 
+    @Override
+    public CityBatchDto addCities(Iterator<CityDto> cities, Integer batchSize) {
+
+        int size = batchSize == null ? defaultBatchSize : batchSize;
+
+        if (size < 1 || size > MAX_BATCH_SIZE)
+            throw new CityServiceException(ErrorMessages.INVALID_QUERY_PARAMETER.getErrorMessage() + "batchSize must be between 1 and " + MAX_BATCH_SIZE);
+
+        awaitLoaded();
+
+        long start = System.nanoTime();
+        long rows = 0;
+        List<CityEntity> chunk = new ArrayList<>(size);
+
+        while (cities.hasNext()) {
+            chunk.add(CityMapper.toEntity(cities.next()));
+
+            if (chunk.size() == size || !cities.hasNext()) {
+                cityRepository.saveAllInBatches(chunk, size);
+                for (CityEntity storedCityDetails : chunk) {
+                    indexCity(CityMapper.toDto(storedCityDetails));
+                }
+                rows += chunk.size();
+                chunk.clear();
+            }
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        double rowsPerSecond = rows == 0 ? 0 : rows * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+
+        LOGGER.info(String.format("Inserted %d cities in batches of %d at %.0f rows/s", rows, size, rowsPerSecond));
+
+        return new CityBatchDto(rows, size, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rowsPerSecond);
+    }
 }
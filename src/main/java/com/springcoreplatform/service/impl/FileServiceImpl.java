@@ -1,40 +1,219 @@
 package com.springcoreplatform.service.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.springcoreplatform.exceptions.FileServiceException;
+import com.springcoreplatform.io.entity.FileEntity;
+import com.springcoreplatform.io.repositories.FileRepository;
+import com.springcoreplatform.presentationlayer.model.response.ErrorMessages;
 import com.springcoreplatform.service.FileService;
+import com.springcoreplatform.shared.dto.FileDto;
+import com.springcoreplatform.shared.mapper.FileMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.FileAlreadyExistsException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 
+/**
+ * Content-addressed file storage: every distinct content is kept once, as {@code <root>/<sha256>}, with its
+ * metadata in {@link FileEntity}.
+ * <p>
+ * Uploads are streamed through a {@link FileChannel} into a temporary file in the same directory while the hash is
+ * computed, so nothing is buffered in memory and the finished file is published with an atomic rename. Content that
+ * is already stored is dropped before it is ever flushed. A hash announced by the client is verified against the
+ * content it sends. Multipart uploads are hashed before they are written, so a duplicate never touches the disk.
+ * <p>
+ * Stored files never change, so lookups by id are cached without expiry.
+ */
 @Service
 public class FileServiceImpl implements FileService {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final int MAX_CACHED_FILES = 10_000;
 
-    private final Path root = Paths.get("uploads");
+    private final Cache<Long, FileDto> filesById = Caffeine.newBuilder().maximumSize(MAX_CACHED_FILES).build();
+
+    @Autowired
+    FileRepository fileRepository;
+
+    @Value("${files.root:uploads}")
+    String rootDirectory;
+
+    @Value("${files.max-size:100MB}")
+    DataSize maxSize;
+
+    private Path root;
+    private Path temp;
 
     @Override
     public void init() {
         try {
-            Files.createDirectories(root);
+            root = Paths.get(rootDirectory);
+            temp = root.resolve(".tmp");
+            Files.createDirectories(temp);
         } catch (IOException e) {
             throw new RuntimeException("Could not initialize folder for upload!");
         }
     }
 
+    /**
+     * The multipart content is already buffered by the servlet container and can be read twice, so it is hashed
+     * first and a duplicate is answered without writing anything.
+     */
     @Override
-    public void save(MultipartFile file) {
+    public FileDto save(MultipartFile file) {
+        if (file.getSize() > maxSize.toBytes()) throw tooLarge();
+
         try {
-            Files.copy(file.getInputStream(), this.root.resolve(file.getOriginalFilename()));
+            String hash;
+            try (InputStream content = file.getInputStream()) {
+                hash = hash(content);
+            }
+
+            FileEntity existing = fileRepository.findByContentHash(hash);
+            if (existing != null) return FileMapper.toDto(existing, false);
+
+            try (InputStream content = file.getInputStream()) {
+                return store(content, file.getOriginalFilename(), file.getContentType(), hash);
+            }
         } catch (IOException e) {
-            if (e instanceof FileAlreadyExistsException) {
-                throw new RuntimeException("A file of that name already exists.");
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * An announced hash is only checked against the content, never trusted on its own: the stored file is returned
+     * only to a client that actually sent its bytes.
+     */
+    @Override
+    public FileDto store(InputStream content, String fileName, String contentType, String expectedHash) {
+        Path part = null;
+        try {
+            part = Files.createTempFile(temp, "upload-", ".part");
+            MessageDigest digest = sha256();
+            long size = 0;
+
+            try (FileChannel channel = FileChannel.open(part, StandardOpenOption.WRITE)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = content.read(buffer)) != -1) {
+                    size += read;
+                    if (size > maxSize.toBytes()) throw tooLarge();
+                    digest.update(buffer, 0, read);
+                    ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                    while (chunk.hasRemaining()) {
+                        channel.write(chunk);
+                    }
+                }
+
+                String hash = toHex(digest.digest());
+                if (expectedHash != null && !expectedHash.equalsIgnoreCase(hash)) {
+                    throw new FileServiceException("Content does not match the announced SHA-256 digest.");
+                }
+
+                // the hash is only known now, so a duplicate of a streamed upload is dropped after the transfer
+                FileEntity existing = fileRepository.findByContentHash(hash);
+                if (existing != null) return FileMapper.toDto(existing, false);
+
+                channel.force(false);
+                return publish(part, hash, size, fileName, contentType);
             }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (part != null) deleteQuietly(part);
+        }
+    }
+
+    @Override
+    public FileDto getFile(long id) {
+        FileDto cached = filesById.getIfPresent(id);
+        if (cached != null) return cached;
+
+        FileEntity fileEntity = fileRepository.findById(id).orElseThrow(() ->
+                new FileServiceException(ErrorMessages.NO_RECORD_FOUND.getErrorMessage() + " id = " + id));
 
-            throw new RuntimeException(e.getMessage());
+        FileDto returnValue = FileMapper.toDto(fileEntity, false);
+        filesById.put(id, returnValue);
+        return returnValue;
+    }
+
+    private FileDto publish(Path part, String hash, long size, String fileName, String contentType) throws IOException {
+        Path target = root.resolve(hash);
+        // a concurrent upload of the same content may have published it already; the bytes are identical
+        if (!Files.exists(target)) {
+            Files.move(part, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        FileEntity fileEntity = new FileEntity();
+        fileEntity.setFileName(fileName != null && !fileName.isEmpty() ? fileName : hash);
+        fileEntity.setContentHash(hash);
+        fileEntity.setSize(size);
+        fileEntity.setContentType(contentType);
+        fileEntity.setPath(target.toString());
+
+        try {
+            return FileMapper.toDto(fileRepository.save(fileEntity), true);
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent upload of the same content won the insert; the file on disk is identical
+            return FileMapper.toDto(fileRepository.findByContentHash(hash), false);
         }
     }
-}
 
+    private String hash(InputStream content) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long size = 0;
+        int read;
+        while ((read = content.read(buffer)) != -1) {
+            size += read;
+            if (size > maxSize.toBytes()) throw tooLarge();
+            digest.update(buffer, 0, read);
+        }
+        return toHex(digest.digest());
+    }
+
+    private FileServiceException tooLarge() {
+        return new FileServiceException("File is larger than the " + maxSize.toMegabytes() + " MB limit.");
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[2 * i] = HEX[(bytes[i] >> 4) & 0xF];
+            chars[2 * i + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // leftover parts in the temporary directory are harmless
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.springcoreplatform.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.springcoreplatform.shared.dto.UserDto;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of users by user id and by email, in front of the repository lookups of
+ * {@link UserServiceImpl}.
+ * <p>
+ * Users are cached once, by user id; the email side only maps an email to its user id. Entries expire
+ * {@code users.cache.ttl} after they are loaded and at most {@code users.cache.max-size} users are kept. Writers call
+ * {@link #invalidate(String, String)}, which drops the user immediately and again after the surrounding transaction
+ * completes, and a load that overlapped an invalidation is returned but not cached, so a committed change is never
+ * hidden by an older copy. Cached users are shared: callers must not modify them.
+ */
+@Component
+public class UserCache implements MeterBinder {
+
+    private final Cache<String, UserDto> byUserId;
+    private final Cache<String, String> userIdByEmail;
+    private final AtomicLong invalidations = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private volatile Timer userIdLoads;
+    private volatile Timer emailLoads;
+
+    public UserCache(@Value("${users.cache.max-size:10000}") long maxSize,
+                     @Value("${users.cache.ttl:10m}") Duration ttl) {
+        this.byUserId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.userIdByEmail = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * The cached user, or the one returned by {@code loader}; null when the loader finds none.
+     */
+    public UserDto getByUserId(String userId, Function<String, UserDto> loader) {
+        UserDto cached = byUserId.getIfPresent(userId);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        return load(userId, loader, userIdLoads);
+    }
+
+    /**
+     * The cached user with this email, or the one returned by {@code loader}; null when the loader finds none.
+     */
+    public UserDto getByEmail(String email, Function<String, UserDto> loader) {
+        String userId = userIdByEmail.getIfPresent(email);
+        UserDto cached = userId != null ? byUserId.getIfPresent(userId) : null;
+        if (cached != null && email.equals(cached.getEmail())) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        return load(email, loader, emailLoads);
+    }
+
+    /**
+     * Drops the user now and once more when the current transaction, if any, has completed.
+     *
+     * @param userId may be null when unknown
+     * @param email  may be null when unknown; a stale email mapping only costs one extra lookup
+     */
+    public void invalidate(String userId, String email) {
+        evict(userId, email);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(userId, email);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, byUserId, "users.byUserId");
+        CaffeineCacheMetrics.monitor(registry, userIdByEmail, "users.byEmail");
+
+        FunctionCounter.builder("users.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .description("User lookups answered from the cache")
+                .register(registry);
+        FunctionCounter.builder("users.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .description("User lookups that went to the database")
+                .register(registry);
+        Gauge.builder("users.cache.hit.ratio", this, UserCache::hitRatio)
+                .description("Share of user lookups answered from the cache")
+                .register(registry);
+
+        userIdLoads = loadTimer(registry, "userId");
+        emailLoads = loadTimer(registry, "email");
+    }
+
+    private UserDto load(String key, Function<String, UserDto> loader, Timer timer) {
+        long generation = invalidations.get();
+        long start = System.nanoTime();
+        UserDto loaded = loader.apply(key);
+        if (timer != null) timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (loaded != null && generation == invalidations.get()) {
+            byUserId.put(loaded.getUserId(), loaded);
+            userIdByEmail.put(loaded.getEmail(), loaded.getUserId());
+        }
+        return loaded;
+    }
+
+    private void evict(String userId, String email) {
+        invalidations.incrementAndGet();
+        if (userId != null) byUserId.invalidate(userId);
+        if (email != null) userIdByEmail.invalidate(email);
+    }
+
+    private double hitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    private static Timer loadTimer(MeterRegistry registry, String lookup) {
+        return Timer.builder("users.cache.load")
+                .tags(Tags.of("lookup", lookup))
+                .description("Time to load a user from the database on a cache miss")
+                .register(registry);
+    }
+}
@@ -1,120 +1,131 @@
 package com.springcoreplatform.service.impl;
 
+import com.springcoreplatform.exceptions.UserServiceException;
 import com.springcoreplatform.io.repositories.UserRepository;
 import com.springcoreplatform.io.entity.UserEntity;
 import com.springcoreplatform.presentationlayer.model.response.ErrorMessages;
+import com.springcoreplatform.security.UserPrincipal;
+import com.springcoreplatform.shared.Cursor;
 import com.springcoreplatform.service.UserService;
-import com.springcoreplatform.shared.Utils;
 import com.springcoreplatform.shared.dto.UserDto;
-import org.springframework.beans.BeanUtils;
+import com.springcoreplatform.shared.dto.UserPageDto;
+import com.springcoreplatform.shared.id.IdGenerator;
+import com.springcoreplatform.shared.mapper.UserMapper;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.userdetails.User;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 @Service
 public class UserServiceImpl implements UserService {
 
+    private static final int MAX_PAGE = 1000;
+
     @Autowired
     UserRepository userRepository;
 
     @Autowired
-    Utils utils;
+    IdGenerator idGenerator;
+
+    @Autowired
+    PasswordEncoder passwordEncoder;
 
     @Autowired
-    BCryptPasswordEncoder bCryptPasswordEncoder;
+    UserCache userCache;
 
+    /**
+     * Inserts the user in a single statement; an email that is already taken is reported by the unique constraint
+     * instead of a SELECT beforehand, which also closes the race between two concurrent signups. Any other
+     * constraint violation is not a duplicate and is rethrown.
+     */
     @Override
     public UserDto createUser(UserDto user) {
 
-        UserEntity userInDb = userRepository.findByEmail(user.getEmail());
-
-        if (userInDb != null) throw new RuntimeException("User already exists");
-
-        UserEntity userEntity = new UserEntity();
-
-        BeanUtils.copyProperties(user, userEntity);
-
-        userEntity.setUserId(utils.generateId(10));
+        if (isEmpty(user.getFirstName()) || isEmpty(user.getLastName()) || isEmpty(user.getEmail())
+                || isEmpty(user.getPassword()))
+            throw new UserServiceException(ErrorMessages.MISSING_REQUIRED_FIELD.getErrorMessage());
 
-        userEntity.setEncryptedPassword(bCryptPasswordEncoder.encode(user.getPassword()));
+        UserEntity userEntity = UserMapper.toEntity(user);
 
-        UserEntity storedUserDetails = userRepository.save(userEntity);
+        userEntity.setUserId(idGenerator.generateId());
 
-        UserDto returnValue = new UserDto();
+        userEntity.setEncryptedPassword(passwordEncoder.encode(user.getPassword()));
 
-        BeanUtils.copyProperties(storedUserDetails, returnValue);
+        UserEntity storedUserDetails;
+        try {
+            storedUserDetails = userRepository.save(userEntity);
+        } catch (DataIntegrityViolationException e) {
+            if (violates(e, UserEntity.EMAIL_CONSTRAINT))
+                throw new UserServiceException(ErrorMessages.RECORD_ALREADY_EXISTS.getErrorMessage());
+            throw e;
+        }
 
-        return returnValue;
+        return UserMapper.toDto(storedUserDetails);
 
     }
 
     @Override
+    @Transactional
     public UserDto updateUser(String id, UserDto user) {
 
-        UserDto returnValue = new UserDto();
-
         UserEntity userEntity = userRepository.findByUserId(id);
 
         if (userEntity == null)
             throw new UsernameNotFoundException(ErrorMessages.NO_RECORD_FOUND.getErrorMessage() + "id = " + id);
 
+        // the entity is managed, so the change is flushed as one UPDATE on commit
         userEntity.setFirstName(user.getFirstName());
         userEntity.setLastName(user.getLastName());
 
-        UserEntity updatedUser = userRepository.save(userEntity);
+        userCache.invalidate(id, userEntity.getEmail());
 
-        BeanUtils.copyProperties(updatedUser, returnValue);
-
-        return returnValue;
+        return UserMapper.toDto(userEntity);
     }
 
     @Override
     public UserDto getUser(String email) {
 
-        UserEntity userEntity = userRepository.findByEmail(email);
-
-        if (userEntity == null) throw new UsernameNotFoundException("Email not found");
-
-        UserDto returnValue = new UserDto();
+        UserDto userDto = userCache.getByEmail(email, this::findByEmail);
 
-        BeanUtils.copyProperties(userEntity, returnValue);
+        if (userDto == null) throw new UsernameNotFoundException("Email not found");
 
-        return returnValue;
+        return userDto;
     }
 
     @Override
     public UserDto getUserByUserId(String userId) {
 
-        UserDto returnValue = new UserDto();
+        UserDto userDto = userCache.getByUserId(userId, this::findByUserId);
 
-        UserEntity userEntity = userRepository.findByUserId(userId);
+        if (userDto == null) throw new UsernameNotFoundException("User with id " + userId + " not found");
 
-        if (userEntity == null) throw new UsernameNotFoundException("User with id " + userId + " not found");
-
-        BeanUtils.copyProperties(userEntity, returnValue);
-
-        return returnValue;
+        return userDto;
     }
 
     @Override
+    @Transactional
     public void deleteUser(String id) {
 
-        UserEntity userEntity = userRepository.findByUserId(id);
+        int deleted = userRepository.deleteByUserId(id);
 
-        if (userEntity == null)
-            throw new UsernameNotFoundException(ErrorMessages.MISSING_REQUIRED_FIELD.getErrorMessage());
+        userCache.invalidate(id, null);
 
-        userRepository.delete(userEntity);
+        if (deleted == 0)
+            throw new UsernameNotFoundException(ErrorMessages.MISSING_REQUIRED_FIELD.getErrorMessage());
     }
 
     @Override
@@ -129,22 +140,98 @@ public class UserServiceImpl implements UserService {
         List<UserEntity> users = userPage.getContent();
 
         for (UserEntity userEntity : users) {
-            UserDto userDto = new UserDto();
-            BeanUtils.copyProperties(userEntity, userDto);
-            returnValue.add(userDto);
+            returnValue.add(UserMapper.toDto(userEntity));
         }
         return returnValue;
     }
 
 
+    /**
+     * Seeks to the last returned id instead of skipping rows with OFFSET, so every page costs the same however deep
+     * it is, and fetches one extra row to know whether another page exists instead of running a COUNT.
+     */
+    @Override
+    public UserPageDto getUsers(String after, int limit) {
+
+        if (limit < 1 || limit > MAX_PAGE)
+            throw new UserServiceException(ErrorMessages.INVALID_QUERY_PARAMETER.getErrorMessage() + "limit must be between 1 and " + MAX_PAGE);
+
+        long lastId = 0;
+        if (after != null && !after.isEmpty()) {
+            try {
+                lastId = Cursor.decode(after);
+            } catch (IllegalArgumentException e) {
+                throw new UserServiceException(ErrorMessages.INVALID_QUERY_PARAMETER.getErrorMessage() + "after is not a valid cursor");
+            }
+        }
+
+        Slice<UserEntity> slice = userRepository.findByIdGreaterThan(lastId, PageRequest.of(0, limit, Sort.by("id")));
+
+        List<UserDto> users = new ArrayList<>(slice.getNumberOfElements());
+        for (UserEntity userEntity : slice) {
+            users.add(UserMapper.toDto(userEntity));
+            lastId = userEntity.getId();
+        }
+
+        String nextCursor = slice.hasNext() ? Cursor.encode(lastId) : null;
+
+        return new UserPageDto(users, nextCursor);
+    }
+
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
 
+        UserDto userDto = userCache.getByEmail(email, this::findByEmail);
+
+        if (userDto == null) throw new UsernameNotFoundException("User not found");
+
+
+        return new UserPrincipal(userDto.getUserId(), userDto.getEmail(), userDto.getEncryptedPassword(), new ArrayList<>());
+    }
+
+    /**
+     * Called by Spring Security after a successful login when the stored hash is older than the hashing policy.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+
+        int updated = userRepository.updateEncryptedPassword(user.getUsername(), newPassword);
+
+        if (updated == 0) throw new UsernameNotFoundException("User not found");
+
+        String userId = user instanceof UserPrincipal ? ((UserPrincipal) user).getUserId() : null;
+
+        userCache.invalidate(userId, user.getUsername());
+
+        return new UserPrincipal(userId, user.getUsername(), newPassword, user.getAuthorities());
+    }
+
+    private UserDto findByEmail(String email) {
         UserEntity userEntity = userRepository.findByEmail(email);
+        return userEntity != null ? UserMapper.toDto(userEntity) : null;
+    }
 
-        if (userEntity == null) throw new UsernameNotFoundException("User not found");
+    private UserDto findByUserId(String userId) {
+        UserEntity userEntity = userRepository.findByUserId(userId);
+        return userEntity != null ? UserMapper.toDto(userEntity) : null;
+    }
 
+    /**
+     * Whether the violation is the named constraint. Databases report the name differently (H2 appends the index
+     * suffix, PostgreSQL does not), so the reported name only has to contain it.
+     */
+    private static boolean violates(DataIntegrityViolationException e, String constraint) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException) {
+                String name = ((ConstraintViolationException) cause).getConstraintName();
+                return name != null && name.toLowerCase(Locale.ROOT).contains(constraint);
+            }
+        }
+        return false;
+    }
 
-        return new User(userEntity.getEmail(), userEntity.getEncryptedPassword(), new ArrayList<>());
+    private static boolean isEmpty(String value) {
+        return value == null || value.isEmpty();
     }
 }
@@ -0,0 +1,27 @@
+package com.springcoreplatform.shared;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * Opaque, URL-safe pagination cursors wrapping the position after the last returned item.
+ */
+public final class Cursor {
+
+    private Cursor() {
+    }
+
+    public static String encode(long position) {
+        byte[] bytes = ByteBuffer.allocate(Long.BYTES).putLong(position).array();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * @throws IllegalArgumentException when the cursor was not produced by {@link #encode(long)}
+     */
+    public static long decode(String cursor) {
+        byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+        if (bytes.length != Long.BYTES) throw new IllegalArgumentException("Malformed cursor: " + cursor);
+        return ByteBuffer.wrap(bytes).getLong();
+    }
+}
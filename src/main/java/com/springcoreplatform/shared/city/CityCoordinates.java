@@ -0,0 +1,57 @@
+package com.springcoreplatform.shared.city;
+
+import com.springcoreplatform.shared.dto.CityDto;
+
+/**
+ * Converts the string coordinates of a {@link CityDto} into signed degrees.
+ */
+public final class CityCoordinates {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private CityCoordinates() {
+    }
+
+    /**
+     * Signed latitude of the city, or NaN when it is missing, not a number or outside [-90, 90].
+     */
+    public static double latitude(CityDto city) {
+        double degrees = signed(city.getLatD(), city.getNs(), 'S');
+        return Math.abs(degrees) <= 90 ? degrees : Double.NaN;
+    }
+
+    /**
+     * Signed longitude of the city, or NaN when it is missing, not a number or outside [-180, 180].
+     */
+    public static double longitude(CityDto city) {
+        double degrees = signed(city.getLongD(), city.getEw(), 'W');
+        return Math.abs(degrees) <= 180 ? degrees : Double.NaN;
+    }
+
+    /**
+     * Great-circle distance in kilometres between two points given in signed degrees.
+     */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double phi1 = Math.toRadians(lat1);
+        double phi2 = Math.toRadians(lat2);
+        double sinDPhi = Math.sin((phi2 - phi1) / 2);
+        double sinDLambda = Math.sin(Math.toRadians(lon2 - lon1) / 2);
+        double a = sinDPhi * sinDPhi + Math.cos(phi1) * Math.cos(phi2) * sinDLambda * sinDLambda;
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static double signed(String degrees, String hemisphere, char negative) {
+        if (degrees == null) return Double.NaN;
+
+        double value;
+        try {
+            value = Double.parseDouble(degrees.trim());
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+
+        boolean flip = hemisphere != null && !hemisphere.isEmpty()
+                && Character.toUpperCase(hemisphere.charAt(0)) == negative;
+        return flip ? -value : value;
+    }
+}
@@ -0,0 +1,189 @@
+package com.springcoreplatform.shared.city;
+
+import com.springcoreplatform.shared.dto.CityDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Case-insensitive prefix search over city names, for autocomplete, optionally within one state.
+ * <p>
+ * {@link CityStore} rows are kept as an array of row numbers sorted by lower-cased name, so a prefix is found with a
+ * binary search and its matches are the run of rows that follows; names are decoded from the store only for the
+ * rows a query touches. Each state has its own array in the same order, so a query within a state searches only that
+ * state's cities. Cities added at runtime go into concurrent skip lists with the same ordering, one overall and one
+ * per state. A query merges the array and the skip list in name order, so the first {@code limit} matches are
+ * returned without looking at the rest.
+ */
+public final class CityNameIndex {
+
+    private static final int[] NO_ROWS = new int[0];
+    private static final ConcurrentSkipListMap<String, CityDto> NO_CITIES = new ConcurrentSkipListMap<>();
+
+    private final CityStore store;
+    private final int[] sortedRows;
+    private final Map<String, int[]> sortedRowsByState;
+    private final ConcurrentSkipListMap<String, CityDto> added = new ConcurrentSkipListMap<>();
+    private final Map<String, ConcurrentSkipListMap<String, CityDto>> addedByState = new ConcurrentHashMap<>();
+    private final AtomicLong addedSequence = new AtomicLong();
+
+    public CityNameIndex(CityStore store) {
+        this.store = store;
+
+        String[] keys = new String[store.size()];
+        Integer[] rows = new Integer[store.size()];
+        for (int row = 0; row < keys.length; row++) {
+            keys[row] = normalize(store.city(row));
+            rows[row] = row;
+        }
+        Arrays.sort(rows, (a, b) -> keys[a].compareTo(keys[b]));
+
+        sortedRows = new int[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            sortedRows[i] = rows[i];
+        }
+        sortedRowsByState = partitionByState(store, sortedRows);
+    }
+
+    public int size() {
+        return sortedRows.length + added.size();
+    }
+
+    /**
+     * Adds a city created after the store was loaded.
+     *
+     * @return false when the city has no name and was not indexed
+     */
+    public boolean add(CityDto city) {
+        if (city.getCity() == null || city.getCity().isEmpty()) return false;
+
+        // the sequence keeps cities with the same name apart and in insertion order
+        String key = normalize(city.getCity()) + '\u0000' + String.format("%019d", addedSequence.incrementAndGet());
+        added.put(key, city);
+        if (city.getState() != null) {
+            addedByState.computeIfAbsent(normalizeState(city.getState()), state -> new ConcurrentSkipListMap<>())
+                    .put(key, city);
+        }
+        return true;
+    }
+
+    /**
+     * Up to {@code limit} cities whose name starts with {@code prefix}, ignoring case, in name order. A non-null
+     * {@code state} keeps only the cities of that state, also ignoring case.
+     */
+    public List<CityDto> search(String prefix, String state, int limit) {
+        if (state == null) return search(normalize(prefix), sortedRows, added, limit);
+
+        String stateKey = normalizeState(state);
+        int[] rows = sortedRowsByState.get(stateKey);
+        ConcurrentSkipListMap<String, CityDto> addedInState = addedByState.get(stateKey);
+        if (rows == null && addedInState == null) return Collections.emptyList();
+
+        return search(normalize(prefix), rows != null ? rows : NO_ROWS, addedInState != null ? addedInState : NO_CITIES,
+                limit);
+    }
+
+    private List<CityDto> search(String key, int[] rows, ConcurrentSkipListMap<String, CityDto> addedCities, int limit) {
+        List<CityDto> result = new ArrayList<>(Math.min(limit, 64));
+
+        int position = lowerBound(rows, key);
+        ConcurrentNavigableMap<String, CityDto> addedMatches = addedCities.subMap(key, true, key + Character.MAX_VALUE, false);
+        Iterator<Map.Entry<String, CityDto>> addedIterator = addedMatches.entrySet().iterator();
+        Map.Entry<String, CityDto> nextAdded = addedIterator.hasNext() ? addedIterator.next() : null;
+        String nextStoreKey = storeKey(rows, position, key);
+
+        while (result.size() < limit && (nextStoreKey != null || nextAdded != null)) {
+            if (nextAdded == null || (nextStoreKey != null && nextStoreKey.compareTo(nextAdded.getKey()) <= 0)) {
+                result.add(store.toDto(rows[position]));
+                nextStoreKey = storeKey(rows, ++position, key);
+            } else {
+                result.add(nextAdded.getValue());
+                nextAdded = addedIterator.hasNext() ? addedIterator.next() : null;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The name at {@code position}, or null past the end of the run of names starting with {@code key}.
+     */
+    private String storeKey(int[] rows, int position, String key) {
+        if (position >= rows.length) return null;
+
+        String name = normalize(store.city(rows[position]));
+        return name.startsWith(key) ? name : null;
+    }
+
+    /**
+     * First position in {@code rows} whose name is not smaller than {@code key}.
+     */
+    private int lowerBound(int[] rows, String key) {
+        int low = 0;
+        int high = rows.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (normalize(store.city(rows[middle])).compareTo(key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Splits the name-ordered rows by state, keeping each state's rows in name order. State codes whose names differ
+     * only in case share one array.
+     */
+    private static Map<String, int[]> partitionByState(CityStore store, int[] sortedRows) {
+        Map<String, Integer> bucketOfState = new HashMap<>();
+        int[] bucketOfCode = new int[store.stateCount()];
+        for (int code = 0; code < bucketOfCode.length; code++) {
+            String state = normalizeState(store.stateName(code));
+            Integer bucket = bucketOfState.get(state);
+            if (bucket == null) {
+                bucket = bucketOfState.size();
+                bucketOfState.put(state, bucket);
+            }
+            bucketOfCode[code] = bucket;
+        }
+
+        int[] sizes = new int[bucketOfState.size()];
+        for (int row : sortedRows) {
+            sizes[bucketOfCode[store.stateCode(row)]]++;
+        }
+        int[][] buckets = new int[sizes.length][];
+        for (int bucket = 0; bucket < sizes.length; bucket++) {
+            buckets[bucket] = new int[sizes[bucket]];
+        }
+        int[] filled = new int[sizes.length];
+        for (int row : sortedRows) {
+            int bucket = bucketOfCode[store.stateCode(row)];
+            buckets[bucket][filled[bucket]++] = row;
+        }
+
+        Map<String, int[]> byState = new HashMap<>();
+        for (Map.Entry<String, Integer> state : bucketOfState.entrySet()) {
+            byState.put(state.getKey(), buckets[state.getValue()]);
+        }
+        return byState;
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String normalizeState(String state) {
+        return state.trim().toUpperCase(Locale.ROOT);
+    }
+}
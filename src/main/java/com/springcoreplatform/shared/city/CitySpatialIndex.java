@@ -0,0 +1,271 @@
+package com.springcoreplatform.shared.city;
+
+import com.springcoreplatform.shared.dto.CityDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Uniform latitude/longitude grid over the CSV {@link CityStore} rows and the cities added at runtime.
+ * <p>
+ * Entries below {@code store.size()} are store rows, the others are added cities. Nearest neighbour queries walk
+ * the grid best-first, ordered by the smallest possible great-circle distance to each cell, so only the cells that
+ * can still hold one of the k closest cities are scanned.
+ */
+public final class CitySpatialIndex {
+
+    public static final double DEFAULT_CELL_DEGREES = 1.0;
+
+    private final CityStore store;
+    private final double cellDegrees;
+    private final int latCells;
+    private final int lonCells;
+    private final int[][] cells;
+    private final int[] cellSizes;
+    private final List<CityDto> added = new ArrayList<>();
+    private float[] addedLat = new float[16];
+    private float[] addedLon = new float[16];
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public CitySpatialIndex(CityStore store) {
+        this(store, DEFAULT_CELL_DEGREES);
+    }
+
+    public CitySpatialIndex(CityStore store, double cellDegrees) {
+        this.store = store;
+        this.cellDegrees = cellDegrees;
+        this.latCells = (int) Math.ceil(180 / cellDegrees);
+        this.lonCells = (int) Math.ceil(360 / cellDegrees);
+        this.cells = new int[latCells * lonCells][];
+        this.cellSizes = new int[latCells * lonCells];
+
+        for (int row = 0; row < store.size(); row++) {
+            float lat = store.latitude(row);
+            float lon = store.longitude(row);
+            if (Math.abs(lat) <= 90 && Math.abs(lon) <= 180) {
+                insert(cellOf(lat, lon), row);
+            }
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return store.size() + added.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a city created after the store was loaded.
+     *
+     * @return false when the city has no usable coordinates and was not indexed
+     */
+    public boolean add(CityDto city) {
+        double lat = CityCoordinates.latitude(city);
+        double lon = CityCoordinates.longitude(city);
+        if (Double.isNaN(lat) || Double.isNaN(lon)) return false;
+
+        lock.writeLock().lock();
+        try {
+            int slot = added.size();
+            if (slot == addedLat.length) {
+                addedLat = Arrays.copyOf(addedLat, slot * 2);
+                addedLon = Arrays.copyOf(addedLon, slot * 2);
+            }
+            addedLat[slot] = (float) lat;
+            addedLon[slot] = (float) lon;
+            added.add(city);
+            insert(cellOf(lat, lon), store.size() + slot);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The {@code k} cities closest to the given point, closest first.
+     */
+    public List<CityDto> nearest(double lat, double lon, int k) {
+        lock.readLock().lock();
+        try {
+            PriorityQueue<Candidate> best = new PriorityQueue<>(k + 1, (a, b) -> Double.compare(b.distance, a.distance));
+            PriorityQueue<Candidate> frontier = new PriorityQueue<>((a, b) -> Double.compare(a.distance, b.distance));
+            BitSet visited = new BitSet(cells.length);
+
+            int start = cellOf(lat, lon);
+            visited.set(start);
+            frontier.add(new Candidate(start, 0));
+
+            while (!frontier.isEmpty()) {
+                Candidate cell = frontier.poll();
+                if (best.size() == k && cell.distance > best.peek().distance) break;
+
+                int[] entries = cells[cell.id];
+                for (int i = 0; i < cellSizes[cell.id]; i++) {
+                    int entry = entries[i];
+                    double distance = CityCoordinates.distanceKm(lat, lon, latOf(entry), lonOf(entry));
+                    if (best.size() < k) {
+                        best.add(new Candidate(entry, distance));
+                    } else if (distance < best.peek().distance) {
+                        best.poll();
+                        best.add(new Candidate(entry, distance));
+                    }
+                }
+
+                int cellLat = cell.id / lonCells;
+                int cellLon = cell.id % lonCells;
+                for (int dLat = -1; dLat <= 1; dLat++) {
+                    int neighbourLat = cellLat + dLat;
+                    if (neighbourLat < 0 || neighbourLat >= latCells) continue;
+                    for (int dLon = -1; dLon <= 1; dLon++) {
+                        int neighbour = neighbourLat * lonCells + Math.floorMod(cellLon + dLon, lonCells);
+                        if (visited.get(neighbour)) continue;
+                        visited.set(neighbour);
+                        frontier.add(new Candidate(neighbour, minDistanceKm(lat, lon, neighbour)));
+                    }
+                }
+            }
+
+            Candidate[] ordered = best.toArray(new Candidate[0]);
+            Arrays.sort(ordered, (a, b) -> Double.compare(a.distance, b.distance));
+            List<CityDto> result = new ArrayList<>(ordered.length);
+            for (Candidate candidate : ordered) {
+                result.add(resolve(candidate.id));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} cities inside the box. A box with {@code minLon > maxLon} crosses the antimeridian.
+     */
+    public List<CityDto> within(double minLat, double minLon, double maxLat, double maxLon, int limit) {
+        if (minLat > maxLat || limit <= 0) return Collections.emptyList();
+
+        lock.readLock().lock();
+        try {
+            List<CityDto> result = new ArrayList<>(Math.min(limit, 256));
+            int fromLat = latCell(minLat);
+            int toLat = latCell(maxLat);
+            if (minLon <= maxLon) {
+                collect(fromLat, toLat, lonCell(minLon), lonCell(maxLon), minLat, minLon, maxLat, maxLon, limit, result);
+            } else {
+                collect(fromLat, toLat, lonCell(minLon), lonCells - 1, minLat, minLon, maxLat, 180, limit, result);
+                collect(fromLat, toLat, 0, lonCell(maxLon), minLat, -180, maxLat, maxLon, limit, result);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void collect(int fromLat, int toLat, int fromLon, int toLon, double minLat, double minLon,
+                         double maxLat, double maxLon, int limit, List<CityDto> result) {
+        for (int cellLat = fromLat; cellLat <= toLat; cellLat++) {
+            for (int cellLon = fromLon; cellLon <= toLon; cellLon++) {
+                int cell = cellLat * lonCells + cellLon;
+                int[] entries = cells[cell];
+                for (int i = 0; i < cellSizes[cell]; i++) {
+                    if (result.size() >= limit) return;
+                    int entry = entries[i];
+                    float lat = latOf(entry);
+                    float lon = lonOf(entry);
+                    if (lat >= minLat && lat <= maxLat && lon >= minLon && lon <= maxLon) {
+                        result.add(resolve(entry));
+                    }
+                }
+            }
+        }
+    }
+
+    private void insert(int cell, int entry) {
+        int[] entries = cells[cell];
+        if (entries == null) {
+            entries = new int[4];
+            cells[cell] = entries;
+        } else if (cellSizes[cell] == entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+            cells[cell] = entries;
+        }
+        entries[cellSizes[cell]++] = entry;
+    }
+
+    private float latOf(int entry) {
+        return entry < store.size() ? store.latitude(entry) : addedLat[entry - store.size()];
+    }
+
+    private float lonOf(int entry) {
+        return entry < store.size() ? store.longitude(entry) : addedLon[entry - store.size()];
+    }
+
+    private CityDto resolve(int entry) {
+        return entry < store.size() ? store.toDto(entry) : added.get(entry - store.size());
+    }
+
+    private int cellOf(double lat, double lon) {
+        return latCell(lat) * lonCells + lonCell(lon);
+    }
+
+    private int latCell(double lat) {
+        return Math.max(0, Math.min(latCells - 1, (int) ((lat + 90) / cellDegrees)));
+    }
+
+    private int lonCell(double lon) {
+        return Math.max(0, Math.min(lonCells - 1, (int) ((lon + 180) / cellDegrees)));
+    }
+
+    /**
+     * Lower bound of the distance from the point to anything stored in the cell.
+     */
+    private double minDistanceKm(double lat, double lon, int cell) {
+        double latLo = -90 + (cell / lonCells) * cellDegrees;
+        double latHi = Math.min(90, latLo + cellDegrees);
+        double lonLo = -180 + (cell % lonCells) * cellDegrees;
+        double lonHi = Math.min(180, lonLo + cellDegrees);
+        double clampedLat = Math.max(latLo, Math.min(latHi, lat));
+
+        if (lon >= lonLo && lon <= lonHi) {
+            return CityCoordinates.distanceKm(lat, lon, clampedLat, lon);
+        }
+
+        double toLo = angularGap(lon, lonLo);
+        double toHi = angularGap(lon, lonHi);
+        double edgeLon = toLo <= toHi ? lonLo : lonHi;
+        double gap = Math.min(toLo, toHi);
+
+        double bound;
+        if (gap < 90) {
+            double closestLat = Math.toDegrees(Math.atan(Math.tan(Math.toRadians(lat)) / Math.cos(Math.toRadians(gap))));
+            bound = CityCoordinates.distanceKm(lat, lon, Math.max(latLo, Math.min(latHi, closestLat)), edgeLon);
+        } else {
+            bound = Math.min(CityCoordinates.distanceKm(lat, lon, latLo, edgeLon),
+                    CityCoordinates.distanceKm(lat, lon, latHi, edgeLon));
+        }
+        return Math.max(0, bound - 1e-6);
+    }
+
+    private static double angularGap(double lon1, double lon2) {
+        double gap = Math.abs(lon1 - lon2) % 360;
+        return gap > 180 ? 360 - gap : gap;
+    }
+
+    private static final class Candidate {
+        private final int id;
+        private final double distance;
+
+        private Candidate(int id, double distance) {
+            this.id = id;
+            this.distance = distance;
+        }
+    }
+}
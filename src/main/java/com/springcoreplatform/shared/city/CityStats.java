@@ -0,0 +1,164 @@
+package com.springcoreplatform.shared.city;
+
+import com.springcoreplatform.shared.dto.CityDto;
+import com.springcoreplatform.shared.dto.CityStatsDto;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * City count and latitude/longitude extents, overall and per state, kept up to date as cities are added.
+ * <p>
+ * The {@link CityStore} rows are folded in with one pass over the store's state codes. After that every added city
+ * updates a {@link LongAdder} and four {@link DoubleAccumulator}s, which stripe their cells across threads, so
+ * concurrent inserts do not contend on a shared counter, and inserts do nothing else. Readers get a ready-made
+ * {@link CityStatsDto} that is rebuilt on read only when the overall city count, which every insert bumps last, has
+ * moved since it was built. States are compared upper-cased, and once {@value #MAX_STATES} states exist further ones
+ * are counted under {@value #OTHER_STATES}, so neither the snapshot nor its rebuild grow with the number of cities.
+ */
+public final class CityStats {
+
+    public static final int MAX_STATES = 1000;
+    public static final String OTHER_STATES = "(other)";
+
+    private final Aggregate total = new Aggregate();
+    private final Map<String, Aggregate> states = new ConcurrentHashMap<>();
+    private volatile Snapshot published;
+
+    public CityStats(CityStore store) {
+        int stateCount = store.stateCount();
+        long[] counts = new long[stateCount];
+        float[] minLat = new float[stateCount];
+        float[] maxLat = new float[stateCount];
+        float[] minLon = new float[stateCount];
+        float[] maxLon = new float[stateCount];
+        Arrays.fill(minLat, Float.POSITIVE_INFINITY);
+        Arrays.fill(maxLat, Float.NEGATIVE_INFINITY);
+        Arrays.fill(minLon, Float.POSITIVE_INFINITY);
+        Arrays.fill(maxLon, Float.NEGATIVE_INFINITY);
+
+        for (int row = 0; row < store.size(); row++) {
+            int code = store.stateCode(row);
+            counts[code]++;
+            float lat = store.latitude(row);
+            float lon = store.longitude(row);
+            if (Math.abs(lat) <= 90 && Math.abs(lon) <= 180) {
+                minLat[code] = Math.min(minLat[code], lat);
+                maxLat[code] = Math.max(maxLat[code], lat);
+                minLon[code] = Math.min(minLon[code], lon);
+                maxLon[code] = Math.max(maxLon[code], lon);
+            }
+        }
+
+        for (int code = 0; code < stateCount; code++) {
+            if (counts[code] == 0) continue;
+            Aggregate state = stateOf(store.stateName(code));
+            state.add(counts[code], minLat[code], maxLat[code], minLon[code], maxLon[code]);
+            total.add(counts[code], minLat[code], maxLat[code], minLon[code], maxLon[code]);
+        }
+    }
+
+    /**
+     * Counts a city created after the store was loaded. Cities without usable coordinates are counted but do not
+     * move the extents.
+     */
+    public void add(CityDto city) {
+        double lat = CityCoordinates.latitude(city);
+        double lon = CityCoordinates.longitude(city);
+        if (Double.isNaN(lat) || Double.isNaN(lon)) {
+            lat = Double.POSITIVE_INFINITY;
+            lon = Double.POSITIVE_INFINITY;
+        }
+
+        String state = city.getState() != null ? city.getState() : "";
+        stateOf(state).add(1, lat, lat, lon, lon);
+        total.add(1, lat, lat, lon, lon);
+    }
+
+    /**
+     * The current stats, shared between callers until the next insert, so they must not be modified. Concurrent
+     * readers after an insert may each rebuild them; the last one to finish is kept.
+     */
+    public CityStatsDto toDto() {
+        long version = total.cities.sum();
+        Snapshot snapshot = published;
+        if (snapshot != null && snapshot.version == version) return snapshot.stats;
+
+        // built after reading the version, so it holds at least the inserts that version counts
+        snapshot = new Snapshot(version, build());
+        published = snapshot;
+        return snapshot.stats;
+    }
+
+    private CityStatsDto build() {
+        CityStatsDto returnValue = total.toDto();
+        Map<String, CityStatsDto> byState = new TreeMap<>();
+        for (Map.Entry<String, Aggregate> state : states.entrySet()) {
+            byState.put(state.getKey(), state.getValue().toDto());
+        }
+        returnValue.setStates(Collections.unmodifiableMap(byState));
+        return returnValue;
+    }
+
+    private Aggregate stateOf(String state) {
+        String key = state.trim().toUpperCase(Locale.ROOT);
+        Aggregate aggregate = states.get(key);
+        if (aggregate != null) return aggregate;
+
+        // the cap is checked without a lock, so a few concurrent inserts may go slightly past it
+        if (states.size() >= MAX_STATES) key = OTHER_STATES;
+        return states.computeIfAbsent(key, k -> new Aggregate());
+    }
+
+    private static final class Aggregate {
+        private final LongAdder cities = new LongAdder();
+        private final DoubleAccumulator minLat = new DoubleAccumulator(Math::min, Double.POSITIVE_INFINITY);
+        private final DoubleAccumulator maxLat = new DoubleAccumulator(Math::max, Double.NEGATIVE_INFINITY);
+        private final DoubleAccumulator minLon = new DoubleAccumulator(Math::min, Double.POSITIVE_INFINITY);
+        private final DoubleAccumulator maxLon = new DoubleAccumulator(Math::max, Double.NEGATIVE_INFINITY);
+
+        /**
+         * Infinite bounds leave the extents as they are. The count goes last, so a reader that sees it also sees the
+         * extents.
+         */
+        private void add(long count, double lowLat, double highLat, double lowLon, double highLon) {
+            if (!Double.isInfinite(lowLat)) {
+                minLat.accumulate(lowLat);
+                maxLat.accumulate(highLat);
+                minLon.accumulate(lowLon);
+                maxLon.accumulate(highLon);
+            }
+            cities.add(count);
+        }
+
+        private CityStatsDto toDto() {
+            CityStatsDto returnValue = new CityStatsDto();
+            returnValue.setCities(cities.sum());
+
+            double lowLat = minLat.get();
+            if (!Double.isInfinite(lowLat)) {
+                returnValue.setMinLat(lowLat);
+                returnValue.setMaxLat(maxLat.get());
+                returnValue.setMinLon(minLon.get());
+                returnValue.setMaxLon(maxLon.get());
+            }
+            return returnValue;
+        }
+    }
+
+    private static final class Snapshot {
+        private final long version;
+        private final CityStatsDto stats;
+
+        private Snapshot(long version, CityStatsDto stats) {
+            this.version = version;
+            this.stats = stats;
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package com.springcoreplatform.shared.city;
+
+import com.springcoreplatform.shared.dto.CityDto;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Immutable, column oriented copy of the city dataset.
+ * <p>
+ * Coordinates are kept as primitive floats, hemispheres as bit flags, state codes are dictionary encoded and city
+ * names are stored back to back as UTF-8 bytes. A row only becomes a {@link CityDto} when it is read. The columns
+ * are buffers: on the heap when the store was built from parsed rows, or views of a memory-mapped snapshot file
+ * (see {@link #wrap}).
+ */
+public final class CityStore {
+
+    public static final byte SOUTH = 1;
+    public static final byte WEST = 2;
+
+    private static final int MAX_STATES = 1 << 16;
+
+    private final int size;
+    private final FloatBuffer latDegrees;
+    private final FloatBuffer longDegrees;
+    private final ByteBuffer hemispheres;
+    private final ShortBuffer stateCodes;
+    private final String[] stateDictionary;
+    private final ByteBuffer names;
+    private final IntBuffer nameOffsets;
+    private final List<CityDto> dtoView = new DtoView();
+
+    private CityStore(int size, FloatBuffer latDegrees, FloatBuffer longDegrees, ByteBuffer hemispheres,
+                      ShortBuffer stateCodes, String[] stateDictionary, ByteBuffer names, IntBuffer nameOffsets) {
+        this.size = size;
+        this.latDegrees = latDegrees;
+        this.longDegrees = longDegrees;
+        this.hemispheres = hemispheres;
+        this.stateCodes = stateCodes;
+        this.stateDictionary = stateDictionary;
+        this.names = names;
+        this.nameOffsets = nameOffsets;
+    }
+
+    public static CityStore empty() {
+        return new CityStore(0, FloatBuffer.allocate(0), FloatBuffer.allocate(0), ByteBuffer.allocate(0),
+                ShortBuffer.allocate(0), new String[0], ByteBuffer.allocate(0), IntBuffer.allocate(1));
+    }
+
+    /**
+     * A store over existing columns, typically views of a mapped snapshot. Nothing is copied or checked per row:
+     * {@code nameOffsets} holds {@code size + 1} offsets into {@code names}, and every state code must index
+     * {@code stateDictionary}.
+     */
+    public static CityStore wrap(int size, FloatBuffer latDegrees, FloatBuffer longDegrees, ByteBuffer hemispheres,
+                                 ShortBuffer stateCodes, String[] stateDictionary, ByteBuffer names,
+                                 IntBuffer nameOffsets) {
+        if (latDegrees.limit() < size || longDegrees.limit() < size || hemispheres.limit() < size
+                || stateCodes.limit() < size || nameOffsets.limit() < size + 1) {
+            throw new IllegalArgumentException("Columns hold fewer than " + size + " rows");
+        }
+        return new CityStore(size, latDegrees, longDegrees, hemispheres, stateCodes, stateDictionary, names,
+                nameOffsets);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public float latDegrees(int row) {
+        return latDegrees.get(row);
+    }
+
+    public float longDegrees(int row) {
+        return longDegrees.get(row);
+    }
+
+    /**
+     * Hemisphere bits of the row, {@link #SOUTH} and {@link #WEST}.
+     */
+    public byte hemispheres(int row) {
+        return hemispheres.get(row);
+    }
+
+    /**
+     * Signed latitude, negative in the southern hemisphere.
+     */
+    public float latitude(int row) {
+        return (hemispheres.get(row) & SOUTH) != 0 ? -latDegrees.get(row) : latDegrees.get(row);
+    }
+
+    /**
+     * Signed longitude, negative in the western hemisphere.
+     */
+    public float longitude(int row) {
+        return (hemispheres.get(row) & WEST) != 0 ? -longDegrees.get(row) : longDegrees.get(row);
+    }
+
+    public String ns(int row) {
+        return (hemispheres.get(row) & SOUTH) != 0 ? "S" : "N";
+    }
+
+    public String ew(int row) {
+        return (hemispheres.get(row) & WEST) != 0 ? "W" : "E";
+    }
+
+    public String city(int row) {
+        return new String(cityBytes(row), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The UTF-8 bytes of the city name.
+     */
+    public byte[] cityBytes(int row) {
+        int start = nameOffsets.get(row);
+        byte[] name = new byte[nameOffsets.get(row + 1) - start];
+        if (names.hasArray()) {
+            System.arraycopy(names.array(), names.arrayOffset() + start, name, 0, name.length);
+        } else {
+            for (int i = 0; i < name.length; i++) {
+                name[i] = names.get(start + i);
+            }
+        }
+        return name;
+    }
+
+    public int stateCode(int row) {
+        return stateCodes.get(row) & 0xFFFF;
+    }
+
+    public String state(int row) {
+        return stateDictionary[stateCode(row)];
+    }
+
+    public int stateCount() {
+        return stateDictionary.length;
+    }
+
+    public String stateName(int code) {
+        return stateDictionary[code];
+    }
+
+    public CityDto toDto(int row) {
+        CityDto cityDto = new CityDto();
+        copyTo(row, cityDto);
+        return cityDto;
+    }
+
+    /**
+     * Fills {@code target} with the given row so callers iterating the whole store can reuse a single instance.
+     */
+    public void copyTo(int row, CityDto target) {
+        target.setId(null);
+        target.setLatD(formatDegrees(latDegrees.get(row)));
+        target.setNs(ns(row));
+        target.setLongD(formatDegrees(longDegrees.get(row)));
+        target.setEw(ew(row));
+        target.setCity(city(row));
+        target.setState(state(row));
+    }
+
+    /**
+     * Read-only list view over the store, rows are materialized on access.
+     */
+    public List<CityDto> asDtoList() {
+        return dtoView;
+    }
+
+    /**
+     * Approximate number of bytes held by the columns, on the heap or in the mapped file.
+     */
+    public long footprintBytes() {
+        long bytes = (long) latDegrees.capacity() * Float.BYTES
+                + (long) longDegrees.capacity() * Float.BYTES
+                + hemispheres.capacity()
+                + (long) stateCodes.capacity() * Short.BYTES
+                + names.capacity()
+                + (long) nameOffsets.capacity() * Integer.BYTES;
+        for (String state : stateDictionary) {
+            bytes += 40 + state.length();
+        }
+        return bytes;
+    }
+
+    /**
+     * Rough size of the same rows held as {@code CityDto} objects with six {@code String} fields each, assuming
+     * compressed oops and compact strings. Only used to report what the columns save.
+     */
+    public long dtoListFootprintBytes() {
+        long perRow = 4 + 40 + 6 * (24 + 16) + 8;
+        long bytes = (long) size * perRow + nameOffsets.get(size);
+        for (int row = 0; row < size; row++) {
+            bytes += stateDictionary[stateCode(row)].length();
+        }
+        return bytes;
+    }
+
+    public static String formatDegrees(float degrees) {
+        int whole = (int) degrees;
+        return whole == degrees ? Integer.toString(whole) : Float.toString(degrees);
+    }
+
+    /**
+     * Concatenates builders in order, merging their local state dictionaries into a single one.
+     */
+    public static CityStore concat(List<Builder> parts) {
+        int total = 0;
+        int nameBytes = 0;
+        for (Builder part : parts) {
+            total += part.size;
+            nameBytes += part.nameLength;
+        }
+
+        float[] lat = new float[total];
+        float[] lon = new float[total];
+        byte[] hemispheres = new byte[total];
+        short[] stateCodes = new short[total];
+        byte[] names = new byte[nameBytes];
+        int[] nameOffsets = new int[total + 1];
+        Map<String, Integer> dictionary = new HashMap<>();
+
+        int row = 0;
+        int nameOffset = 0;
+        for (Builder part : parts) {
+            int[] remap = new int[part.states.size()];
+            for (Map.Entry<String, Integer> state : part.states.entrySet()) {
+                Integer code = dictionary.get(state.getKey());
+                if (code == null) {
+                    code = dictionary.size();
+                    dictionary.put(state.getKey(), code);
+                }
+                remap[state.getValue()] = code;
+            }
+            if (dictionary.size() > MAX_STATES) {
+                throw new IllegalStateException("Too many distinct states: " + dictionary.size());
+            }
+
+            System.arraycopy(part.lat, 0, lat, row, part.size);
+            System.arraycopy(part.lon, 0, lon, row, part.size);
+            System.arraycopy(part.hemispheres, 0, hemispheres, row, part.size);
+            System.arraycopy(part.names, 0, names, nameOffset, part.nameLength);
+            for (int i = 0; i < part.size; i++) {
+                stateCodes[row + i] = (short) remap[part.stateCodes[i]];
+                nameOffsets[row + i] = nameOffset + part.nameOffsets[i];
+            }
+            row += part.size;
+            nameOffset += part.nameLength;
+        }
+        nameOffsets[total] = nameOffset;
+
+        String[] stateDictionary = new String[dictionary.size()];
+        for (Map.Entry<String, Integer> state : dictionary.entrySet()) {
+            stateDictionary[state.getValue()] = state.getKey();
+        }
+
+        return new CityStore(total, FloatBuffer.wrap(lat), FloatBuffer.wrap(lon), ByteBuffer.wrap(hemispheres),
+                ShortBuffer.wrap(stateCodes), stateDictionary, ByteBuffer.wrap(names), IntBuffer.wrap(nameOffsets));
+    }
+
+    /**
+     * Growable, single threaded column buffers for one chunk of input.
+     */
+    public static final class Builder {
+        private int size;
+        private float[] lat;
+        private float[] lon;
+        private byte[] hemispheres;
+        private int[] stateCodes;
+        private int[] nameOffsets;
+        private byte[] names;
+        private int nameLength;
+        private final Map<String, Integer> states = new HashMap<>();
+
+        public Builder(int expectedRows) {
+            int capacity = Math.max(16, expectedRows);
+            lat = new float[capacity];
+            lon = new float[capacity];
+            hemispheres = new byte[capacity];
+            stateCodes = new int[capacity];
+            nameOffsets = new int[capacity];
+            names = new byte[capacity * 12];
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public void add(float latDegrees, float longDegrees, byte hemisphereFlags,
+                        byte[] source, int nameStart, int nameLength, String state) {
+            if (size == lat.length) {
+                int capacity = size + (size >> 1);
+                lat = Arrays.copyOf(lat, capacity);
+                lon = Arrays.copyOf(lon, capacity);
+                hemispheres = Arrays.copyOf(hemispheres, capacity);
+                stateCodes = Arrays.copyOf(stateCodes, capacity);
+                nameOffsets = Arrays.copyOf(nameOffsets, capacity);
+            }
+            if (this.nameLength + nameLength > names.length) {
+                names = Arrays.copyOf(names, Math.max(names.length + (names.length >> 1), this.nameLength + nameLength));
+            }
+
+            Integer code = states.get(state);
+            if (code == null) {
+                code = states.size();
+                states.put(state, code);
+            }
+
+            lat[size] = latDegrees;
+            lon[size] = longDegrees;
+            hemispheres[size] = hemisphereFlags;
+            stateCodes[size] = code;
+            nameOffsets[size] = this.nameLength;
+            System.arraycopy(source, nameStart, names, this.nameLength, nameLength);
+            this.nameLength += nameLength;
+            size++;
+        }
+
+        public void add(float latDegrees, float longDegrees, byte hemisphereFlags, String city, String state) {
+            byte[] name = city.getBytes(StandardCharsets.UTF_8);
+            add(latDegrees, longDegrees, hemisphereFlags, name, 0, name.length, state);
+        }
+    }
+
+    private final class DtoView extends AbstractList<CityDto> implements RandomAccess {
+
+        @Override
+        public CityDto get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return toDto(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.springcoreplatform.shared.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CityBatchDto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private long rows;
+
+    private int batchSize;
+
+    private long elapsedMillis;
+
+    private double rowsPerSecond;
+}
@@ -0,0 +1,36 @@
+package com.springcoreplatform.shared.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.List;
+
+@Getter
+@Setter
+public class CityImportJobDto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String jobId;
+
+    private String fileName;
+
+    private String status;
+
+    private long rowsParsed;
+
+    private long rowsInserted;
+
+    private long rowsRejected;
+
+    private double rowsPerSecond;
+
+    private Date startedAt;
+
+    private Date finishedAt;
+
+    private String error;
+
+    private List<String> rejections;
+}
@@ -0,0 +1,8 @@
+package com.springcoreplatform.shared.dto;
+
+public enum CityImportStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,21 @@
+package com.springcoreplatform.shared.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CityPageDto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private List<CityDto> cities;
+
+    private String nextCursor;
+}
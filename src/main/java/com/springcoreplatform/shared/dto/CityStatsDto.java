@@ -0,0 +1,31 @@
+package com.springcoreplatform.shared.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CityStatsDto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private long cities;
+
+    private Double minLat;
+
+    private Double maxLat;
+
+    private Double minLon;
+
+    private Double maxLon;
+
+    private Map<String, CityStatsDto> states;
+}
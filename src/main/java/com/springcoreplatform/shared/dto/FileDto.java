@@ -0,0 +1,29 @@
+package com.springcoreplatform.shared.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+@Getter
+@Setter
+public class FileDto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private long id;
+
+    private String fileName;
+
+    private String contentHash;
+
+    private long size;
+
+    private String contentType;
+
+    private String path;
+
+    /**
+     * False when the content was already stored and the upload was answered from the existing file.
+     */
+    private boolean created;
+}
@@ -0,0 +1,10 @@
+package com.springcoreplatform.shared.id;
+
+/**
+ * Source of public, URL-safe identifiers such as {@code users.userId}.
+ * The implementation is chosen with {@code users.id-generator}.
+ */
+public interface IdGenerator {
+
+    String generateId();
+}
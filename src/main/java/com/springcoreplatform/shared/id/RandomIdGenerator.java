@@ -0,0 +1,27 @@
+package com.springcoreplatform.shared.id;
+
+import com.springcoreplatform.shared.Utils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * The original user ids: {@code users.id-length} random alphanumeric characters from {@link Utils#generateId(int)}.
+ */
+@Component
+@ConditionalOnProperty(name = "users.id-generator", havingValue = "random")
+public class RandomIdGenerator implements IdGenerator {
+
+    private final Utils utils;
+    private final int length;
+
+    public RandomIdGenerator(Utils utils, @Value("${users.id-length:10}") int length) {
+        this.utils = utils;
+        this.length = length;
+    }
+
+    @Override
+    public String generateId() {
+        return utils.generateId(length);
+    }
+}
@@ -0,0 +1,101 @@
+package com.springcoreplatform.shared.id;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ULID-style identifiers: 26 Crockford base32 characters, 48 bits of millisecond timestamp followed by 80 random bits.
+ * <p>
+ * Ids sort by creation time, so inserts land at the end of an index on the id instead of anywhere in it. The
+ * {@link SecureRandom} and last timestamp live in a fixed set of stripes, a few per CPU, and a thread always uses the
+ * stripe picked by its id. Threads rarely share a stripe, so generating an id seldom waits, and the number of seeded
+ * generators stays fixed no matter how many threads there are, which matters once every request runs on its own
+ * virtual thread. Each stripe is guarded by a {@link ReentrantLock} rather than a monitor, so a virtual thread that
+ * waits for a stripe, or for its {@link SecureRandom} to seed, releases its carrier thread. Within one millisecond a
+ * stripe increments its previous random part instead of drawing a new one, which keeps the ids of each stripe, and so
+ * of each thread, strictly increasing; ids from different stripes in the same millisecond are unique but not ordered.
+ */
+@Component
+@ConditionalOnProperty(name = "users.id-generator", havingValue = "time-ordered", matchIfMissing = true)
+public class TimeOrderedIdGenerator implements IdGenerator {
+
+    public static final int LENGTH = 26;
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int TIME_CHARS = 10;
+    private static final long RANDOM_HIGH_MASK = 0xFFFFL;
+
+    private final State[] stripes;
+
+    public TimeOrderedIdGenerator() {
+        this(4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    TimeOrderedIdGenerator(int minStripes) {
+        int count = Integer.highestOneBit(Math.max(1, minStripes - 1)) << 1;
+        stripes = new State[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new State();
+        }
+    }
+
+    @Override
+    public String generateId() {
+        long threadId = Thread.currentThread().getId();
+        State stripe = stripes[(int) ((threadId * 0x9E3779B97F4A7C15L) >>> 40) & (stripes.length - 1)];
+        stripe.lock.lock();
+        try {
+            return stripe.next(System.currentTimeMillis());
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private static final class State {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final SecureRandom random = newRandom();
+        private final char[] chars = new char[LENGTH];
+        private long lastMillis = -1;
+        private long randomHigh;
+        private long randomLow;
+
+        private String next(long now) {
+            if (now > lastMillis) {
+                lastMillis = now;
+                randomHigh = random.nextInt() & RANDOM_HIGH_MASK;
+                randomLow = random.nextLong();
+            } else if (++randomLow == 0) {
+                // same millisecond, or the clock moved back: keep counting from the previous id
+                randomHigh = (randomHigh + 1) & RANDOM_HIGH_MASK;
+            }
+
+            long time = lastMillis;
+            for (int i = TIME_CHARS - 1; i >= 0; i--) {
+                chars[i] = ALPHABET[(int) (time & 31)];
+                time >>>= 5;
+            }
+
+            long high = randomHigh;
+            long low = randomLow;
+            for (int i = LENGTH - 1; i >= TIME_CHARS; i--) {
+                chars[i] = ALPHABET[(int) (low & 31)];
+                low = (low >>> 5) | (high << 59);
+                high >>>= 5;
+            }
+            return new String(chars);
+        }
+
+        private static SecureRandom newRandom() {
+            try {
+                // seeded from the system entropy source once, then never blocks
+                return SecureRandom.getInstance("SHA1PRNG");
+            } catch (NoSuchAlgorithmException e) {
+                return new SecureRandom();
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.springcoreplatform.shared.mapper;
+
+import com.springcoreplatform.io.entity.CityEntity;
+import com.springcoreplatform.shared.dto.CityDto;
+
+/**
+ * Field-by-field conversions between {@link CityDto} and {@link CityEntity}, see {@link UserMapper}.
+ */
+public final class CityMapper {
+
+    private CityMapper() {
+    }
+
+    public static CityDto toDto(CityEntity cityEntity) {
+        return new CityDto(cityEntity.getId(), cityEntity.getLatD(), cityEntity.getNs(), cityEntity.getLongD(),
+                cityEntity.getEw(), cityEntity.getCity(), cityEntity.getState());
+    }
+
+    /**
+     * New, unsaved entity for the city. The id is left to the database sequence.
+     */
+    public static CityEntity toEntity(CityDto cityDto) {
+        CityEntity returnValue = new CityEntity();
+        returnValue.setLatD(cityDto.getLatD());
+        returnValue.setNs(cityDto.getNs());
+        returnValue.setLongD(cityDto.getLongD());
+        returnValue.setEw(cityDto.getEw());
+        returnValue.setCity(cityDto.getCity());
+        returnValue.setState(cityDto.getState());
+        return returnValue;
+    }
+}
@@ -0,0 +1,36 @@
+package com.springcoreplatform.shared.mapper;
+
+import com.springcoreplatform.io.entity.FileEntity;
+import com.springcoreplatform.presentationlayer.model.response.FileRest;
+import com.springcoreplatform.shared.dto.FileDto;
+
+/**
+ * Field-by-field conversions for stored files, see {@link UserMapper}.
+ */
+public final class FileMapper {
+
+    private FileMapper() {
+    }
+
+    public static FileDto toDto(FileEntity fileEntity, boolean created) {
+        FileDto returnValue = new FileDto();
+        returnValue.setId(fileEntity.getId());
+        returnValue.setFileName(fileEntity.getFileName());
+        returnValue.setContentHash(fileEntity.getContentHash());
+        returnValue.setSize(fileEntity.getSize());
+        returnValue.setContentType(fileEntity.getContentType());
+        returnValue.setPath(fileEntity.getPath());
+        returnValue.setCreated(created);
+        return returnValue;
+    }
+
+    public static FileRest toRest(FileDto fileDto) {
+        FileRest returnValue = new FileRest();
+        returnValue.setId(fileDto.getId());
+        returnValue.setFileName(fileDto.getFileName());
+        returnValue.setContentHash(fileDto.getContentHash());
+        returnValue.setSize(fileDto.getSize());
+        returnValue.setContentType(fileDto.getContentType());
+        return returnValue;
+    }
+}
@@ -0,0 +1,59 @@
+package com.springcoreplatform.shared.mapper;
+
+import com.springcoreplatform.io.entity.UserEntity;
+import com.springcoreplatform.presentationlayer.model.request.UserDetailsRequestModel;
+import com.springcoreplatform.presentationlayer.model.response.UserRest;
+import com.springcoreplatform.shared.dto.UserDto;
+
+/**
+ * Field-by-field conversions between the user request, DTO, entity and response models.
+ * <p>
+ * These replace {@code BeanUtils.copyProperties}, which looks up and invokes every property reflectively on each
+ * call. Plain getter/setter copies are small enough for the JIT to inline. A field added to one of the models has
+ * to be added here as well.
+ */
+public final class UserMapper {
+
+    private UserMapper() {
+    }
+
+    public static UserDto toDto(UserDetailsRequestModel userDetails) {
+        UserDto returnValue = new UserDto();
+        returnValue.setFirstName(userDetails.getFirstName());
+        returnValue.setLastName(userDetails.getLastName());
+        returnValue.setEmail(userDetails.getEmail());
+        returnValue.setPassword(userDetails.getPassword());
+        return returnValue;
+    }
+
+    public static UserDto toDto(UserEntity userEntity) {
+        UserDto returnValue = new UserDto();
+        returnValue.setId(userEntity.getId());
+        returnValue.setUserId(userEntity.getUserId());
+        returnValue.setFirstName(userEntity.getFirstName());
+        returnValue.setLastName(userEntity.getLastName());
+        returnValue.setEmail(userEntity.getEmail());
+        returnValue.setEncryptedPassword(userEntity.getEncryptedPassword());
+        return returnValue;
+    }
+
+    public static UserEntity toEntity(UserDto userDto) {
+        UserEntity returnValue = new UserEntity();
+        returnValue.setId(userDto.getId());
+        returnValue.setUserId(userDto.getUserId());
+        returnValue.setFirstName(userDto.getFirstName());
+        returnValue.setLastName(userDto.getLastName());
+        returnValue.setEmail(userDto.getEmail());
+        returnValue.setEncryptedPassword(userDto.getEncryptedPassword());
+        return returnValue;
+    }
+
+    public static UserRest toRest(UserDto userDto) {
+        UserRest returnValue = new UserRest();
+        returnValue.setUserId(userDto.getUserId());
+        returnValue.setFirstName(userDto.getFirstName());
+        returnValue.setLastName(userDto.getLastName());
+        returnValue.setEmail(userDto.getEmail());
+        return returnValue;
+    }
+}
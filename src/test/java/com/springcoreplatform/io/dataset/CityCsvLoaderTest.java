@@ -0,0 +1,58 @@
+package com.springcoreplatform.io.dataset;
+
+import com.springcoreplatform.shared.city.CityStore;
+import com.springcoreplatform.shared.dto.CityDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CityCsvLoaderTest {
+
+    private static final Path CITIES = Paths.get("src/main/resources/assets/csv/cities.csv");
+
+    @Test
+    void load_MatchesLineByLineParse() throws IOException {
+
+        List<String> lines = Files.readAllLines(CITIES);
+
+        CityStore store = new CityCsvLoader(4, 64).load(CITIES);
+
+        assertEquals(lines.size(), store.size());
+        for (int i = 0; i < lines.size(); i++) {
+            String[] cityCsv = lines.get(i).split(",");
+            CityDto city = store.toDto(i);
+            assertEquals(cityCsv[0], city.getLatD());
+            assertEquals(cityCsv[1], city.getNs());
+            assertEquals(cityCsv[2], city.getLongD());
+            assertEquals(cityCsv[3], city.getEw());
+            assertEquals(cityCsv[4], city.getCity());
+            assertEquals(cityCsv[5], city.getState());
+        }
+    }
+
+    @Test
+    void load_SkipsMalformedLines(@TempDir Path dir) throws IOException {
+
+        Path csv = dir.resolve("cities.csv");
+        Files.write(csv, ("latD,ns,longD,ew,city,state\r\n"
+                + "41.5,N,80,W,Youngstown,OH\r\n"
+                + "not,enough,fields\r\n"
+                + "33,S,151,E,Sydney,NSW").getBytes(StandardCharsets.UTF_8));
+
+        CityStore store = new CityCsvLoader().load(csv);
+
+        assertEquals(2, store.size());
+        assertEquals("41.5", store.toDto(0).getLatD());
+        assertEquals(-80f, store.longitude(0));
+        assertEquals(-33f, store.latitude(1));
+        assertEquals("NSW", store.state(1));
+    }
+}
@@ -0,0 +1,109 @@
+package com.springcoreplatform.io.dataset;
+
+import com.springcoreplatform.shared.city.CityStore;
+import com.springcoreplatform.shared.dto.CityDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CitySnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    Path csv;
+    Path snapshot;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        csv = dir.resolve("cities.csv");
+        snapshot = dir.resolve("cities.snapshot");
+        Files.copy(Paths.get("src/main/resources/assets/csv/cities.csv"), csv, StandardCopyOption.REPLACE_EXISTING);
+        Files.write(csv, "\n33,S,151,E,Zürich Süd,NSW\n".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+    }
+
+    @Test
+    void read_MatchesCsvStore() throws IOException {
+
+        CityStore parsed = new CityCsvLoader().load(csv);
+        CitySnapshot.write(parsed, csv, snapshot);
+
+        CityStore mapped = CitySnapshot.read(snapshot, csv, true);
+
+        assertNotNull(mapped);
+        assertEquals(parsed.size(), mapped.size());
+        assertEquals(parsed.stateCount(), mapped.stateCount());
+        for (int row = 0; row < parsed.size(); row++) {
+            CityDto expected = parsed.toDto(row);
+            CityDto actual = mapped.toDto(row);
+            assertEquals(expected.getLatD(), actual.getLatD());
+            assertEquals(expected.getNs(), actual.getNs());
+            assertEquals(expected.getLongD(), actual.getLongD());
+            assertEquals(expected.getEw(), actual.getEw());
+            assertEquals(expected.getCity(), actual.getCity());
+            assertEquals(expected.getState(), actual.getState());
+            assertEquals(parsed.latitude(row), mapped.latitude(row));
+            assertEquals(parsed.longitude(row), mapped.longitude(row));
+        }
+        assertEquals("Zürich Süd", mapped.city(mapped.size() - 1));
+    }
+
+    @Test
+    void read_RejectsSnapshotOfChangedSource() throws IOException {
+
+        CitySnapshot.write(new CityCsvLoader().load(csv), csv, snapshot);
+        Files.setLastModifiedTime(csv, FileTime.fromMillis(Files.getLastModifiedTime(csv).toMillis() + 1000));
+
+        assertNull(CitySnapshot.read(snapshot, csv, false));
+        assertNull(CitySnapshot.read(dir.resolve("missing.snapshot"), csv, false));
+    }
+
+    @Test
+    void read_RejectsDamagedSnapshot() throws IOException {
+
+        CitySnapshot.write(new CityCsvLoader().load(csv), csv, snapshot);
+        try (RandomAccessFile file = new RandomAccessFile(snapshot.toFile(), "rw")) {
+            file.seek(CitySnapshot.HEADER_BYTES + 1);
+            file.write(file.read() ^ 0xFF);
+        }
+
+        assertNotNull(CitySnapshot.read(snapshot, csv, false));
+        assertNull(CitySnapshot.read(snapshot, csv, true));
+
+        try (RandomAccessFile file = new RandomAccessFile(snapshot.toFile(), "rw")) {
+            file.seek(12);
+            file.write(99);
+        }
+        assertNull(CitySnapshot.read(snapshot, csv, false));
+    }
+
+    @Test
+    void read_RejectsStateTableLengthBeyondTheFile() throws IOException {
+
+        CityStore parsed = new CityCsvLoader().load(csv);
+        CitySnapshot.write(parsed, csv, snapshot);
+        long stateTableBytes = 0;
+        for (int code = 0; code < parsed.stateCount(); code++) {
+            stateTableBytes += Integer.BYTES + parsed.stateName(code).getBytes(StandardCharsets.UTF_8).length;
+        }
+        try (RandomAccessFile file = new RandomAccessFile(snapshot.toFile(), "rw")) {
+            file.seek(file.length() - stateTableBytes);
+            file.write(new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x7F});
+        }
+
+        assertNull(CitySnapshot.read(snapshot, csv, false));
+    }
+}
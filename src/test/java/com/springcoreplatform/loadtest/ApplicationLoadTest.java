@@ -0,0 +1,79 @@
+package com.springcoreplatform.loadtest;
+
+import com.springcoreplatform.SpringCorePlatformApplication;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Boots the application on an embedded H2 database (profiles {@code test,loadtest}) and puts it under load with
+ * {@link LoadGenerator}. Excluded from the default build; run it with {@code ./mvnw -Ploadtest test}.
+ * <p>
+ * Settings come from {@code application-loadtest.yml} and can be overridden on the command line, e.g.
+ * {@code -Dloadtest.clients=64 -Dloadtest.duration=60s}. The report is written to {@code loadtest.result}. With
+ * {@code loadtest.update-baseline=true} the run becomes the new {@code loadtest.baseline}; otherwise the test fails
+ * when there is no baseline or an endpoint regressed past {@code loadtest.tolerance}.
+ */
+@Tag("load")
+class ApplicationLoadTest {
+    private static final Logger LOGGER = Logger.getLogger(ApplicationLoadTest.class.getName());
+
+    static ConfigurableApplicationContext context;
+
+    @BeforeAll
+    static void startApplication() {
+        context = new SpringApplicationBuilder(SpringCorePlatformApplication.class)
+                .profiles("test", "loadtest")
+                .run("--server.port=0", "--spring.devtools.restart.enabled=false");
+    }
+
+    @AfterAll
+    static void stopApplication() {
+        if (context != null) context.close();
+    }
+
+    @Test
+    void signUpLoginAndCityFlow_MeetsBaseline() throws Exception {
+
+        Environment environment = context.getEnvironment();
+        LoadGenerator generator = new LoadGenerator(
+                "http://localhost:" + environment.getRequiredProperty("local.server.port"),
+                environment.getRequiredProperty("loadtest.clients", Integer.class),
+                LoadGenerator.parseMix(environment.getRequiredProperty("loadtest.mix")));
+
+        LoadReport report = generator.run(
+                environment.getRequiredProperty("loadtest.warmup", Duration.class).toMillis(),
+                environment.getRequiredProperty("loadtest.duration", Duration.class).toMillis());
+        LOGGER.info((environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)
+                ? "virtual" : "platform") + " request threads, Java " + System.getProperty("java.version")
+                + "\n" + report.toTable());
+
+        report.write(Paths.get(environment.getRequiredProperty("loadtest.result")));
+
+        Path baselineFile = Paths.get(environment.getRequiredProperty("loadtest.baseline"));
+        if (environment.getProperty("loadtest.update-baseline", Boolean.class, false)) {
+            report.write(baselineFile);
+            LOGGER.info("Recorded load test baseline " + baselineFile.toAbsolutePath());
+            return;
+        }
+        assertTrue(Files.exists(baselineFile), "No load test baseline at " + baselineFile.toAbsolutePath()
+                + ", record one on this machine with -Dloadtest.update-baseline=true");
+
+        List<String> regressions = report.regressionsAgainst(LoadReport.read(baselineFile),
+                environment.getRequiredProperty("loadtest.tolerance", Double.class));
+        assertTrue(regressions.isEmpty(), "Regressed against " + baselineFile + ":\n" + String.join("\n", regressions));
+    }
+}
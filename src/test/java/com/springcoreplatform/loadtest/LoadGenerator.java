@@ -0,0 +1,255 @@
+package com.springcoreplatform.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives the sign up, login, {@code GET /users/{id}}, {@code GET /city} and {@code POST /city/newCity} flow from
+ * many concurrent clients against a running application and records each request's latency per endpoint.
+ * <p>
+ * Every client signs up and logs in once, then picks endpoints at random according to the mix weights until the
+ * run ends. Clients are closed-loop: each sends its next request as soon as the previous one is answered, so the
+ * percentiles describe the server at the throughput it reached, not at a fixed offered rate.
+ */
+public class LoadGenerator {
+
+    public enum Endpoint {
+        SIGN_UP("signup"),
+        LOGIN("login"),
+        GET_USER("getUser"),
+        GET_CITIES("getCities"),
+        NEW_CITY("newCity");
+
+        private final String key;
+
+        Endpoint(String key) {
+            this.key = key;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public static Endpoint fromKey(String key) {
+            for (Endpoint endpoint : values()) {
+                if (endpoint.key.equals(key)) return endpoint;
+            }
+            throw new IllegalArgumentException("Unknown endpoint " + key);
+        }
+    }
+
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final AtomicInteger USER_SEQUENCE = new AtomicInteger();
+
+    private final String baseUrl;
+    private final int clients;
+    private final Map<Endpoint, Integer> mix;
+    private final int totalWeight;
+
+    /**
+     * @param mix relative weight of each endpoint; endpoints left out are only called during client set up
+     */
+    public LoadGenerator(String baseUrl, int clients, Map<Endpoint, Integer> mix) {
+        this.baseUrl = baseUrl;
+        this.clients = clients;
+        this.mix = new EnumMap<>(mix);
+        this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        if (totalWeight <= 0) throw new IllegalArgumentException("The endpoint mix has no positive weight");
+    }
+
+    /**
+     * Parses a mix such as {@code signup:1,login:2,getUser:10,getCities:5,newCity:2}.
+     */
+    public static Map<Endpoint, Integer> parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            weights.put(Endpoint.fromKey(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    /**
+     * Runs the clients for {@code warmup}, discards what they recorded, then measures for {@code duration}.
+     */
+    public LoadReport run(long warmupMillis, long durationMillis) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            List<Client> started = new ArrayList<>();
+            CountDownLatch ready = new CountDownLatch(clients);
+            CountDownLatch go = new CountDownLatch(1);
+            AtomicLong deadline = new AtomicLong();
+            List<Future<?>> running = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                Client client = new Client();
+                started.add(client);
+                running.add(executor.submit(() -> {
+                    client.setUp();
+                    ready.countDown();
+                    go.await();
+                    client.loop(deadline.get());
+                    return null;
+                }));
+            }
+
+            if (!ready.await(5, TimeUnit.MINUTES)) throw new IllegalStateException("Clients did not finish setting up");
+            deadline.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(warmupMillis + durationMillis));
+            go.countDown();
+            Thread.sleep(warmupMillis);
+            for (Client client : started) client.reset();
+            long measureStart = System.nanoTime();
+
+            for (Future<?> future : running) future.get();
+            long measuredNanos = System.nanoTime() - measureStart;
+
+            Map<String, Histogram> latencies = new LinkedHashMap<>();
+            Map<String, Long> errors = new LinkedHashMap<>();
+            for (Endpoint endpoint : Endpoint.values()) {
+                Histogram merged = new Histogram(MAX_LATENCY_NANOS, 3);
+                long failed = 0;
+                for (Client client : started) {
+                    synchronized (client) {
+                        merged.add(client.latencies.get(endpoint));
+                        failed += client.errors.get(endpoint);
+                    }
+                }
+                if (merged.getTotalCount() + failed == 0) continue;
+                latencies.put(endpoint.getKey(), merged);
+                errors.put(endpoint.getKey(), failed);
+            }
+            return LoadReport.of(clients, measuredNanos, latencies, errors);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private final class Client {
+        private final Map<Endpoint, Histogram> latencies = new EnumMap<>(Endpoint.class);
+        private final Map<Endpoint, Long> errors = new EnumMap<>(Endpoint.class);
+        private String email;
+        private String token;
+        private String userId;
+
+        private Client() {
+            reset();
+        }
+
+        private synchronized void reset() {
+            for (Endpoint endpoint : Endpoint.values()) {
+                latencies.put(endpoint, new Histogram(MAX_LATENCY_NANOS, 3));
+                errors.put(endpoint, 0L);
+            }
+        }
+
+        private void setUp() throws IOException {
+            signUp();
+            login();
+            if (token == null) throw new IllegalStateException("Login for " + email + " returned no token");
+        }
+
+        private void loop(long deadline) throws IOException {
+            while (System.nanoTime() < deadline) {
+                call(pick());
+            }
+        }
+
+        private Endpoint pick() {
+            int ticket = ThreadLocalRandom.current().nextInt(totalWeight);
+            for (Map.Entry<Endpoint, Integer> entry : mix.entrySet()) {
+                ticket -= entry.getValue();
+                if (ticket < 0) return entry.getKey();
+            }
+            throw new IllegalStateException("Unreachable");
+        }
+
+        private void call(Endpoint endpoint) throws IOException {
+            switch (endpoint) {
+                case SIGN_UP:
+                    signUp();
+                    break;
+                case LOGIN:
+                    login();
+                    break;
+                case GET_USER:
+                    send(endpoint, "GET", "/users/" + userId, null);
+                    break;
+                case GET_CITIES:
+                    send(endpoint, "GET", "/city", null);
+                    break;
+                case NEW_CITY:
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    send(endpoint, "POST", "/city/newCity", String.format(
+                            "{\"latD\":\"%d\",\"ns\":\"N\",\"longD\":\"%d\",\"ew\":\"W\",\"city\":\"Load%d\",\"state\":\"LT\"}",
+                            random.nextInt(90), random.nextInt(180), random.nextInt(1_000_000)));
+                    break;
+                default:
+                    throw new IllegalStateException("Unhandled endpoint " + endpoint);
+            }
+        }
+
+        private void signUp() throws IOException {
+            email = "load" + USER_SEQUENCE.incrementAndGet() + "@springcoreplatform.com";
+            send(Endpoint.SIGN_UP, "POST", "/users", "{\"firstName\":\"Load\",\"lastName\":\"Test\",\"email\":\""
+                    + email + "\",\"password\":\"load-test\"}");
+        }
+
+        private void login() throws IOException {
+            HttpURLConnection connection = send(Endpoint.LOGIN, "POST", "/users/login",
+                    "{\"email\":\"" + email + "\",\"password\":\"load-test\"}");
+            if (connection.getResponseCode() == 200) {
+                token = connection.getHeaderField("Authorization");
+                userId = connection.getHeaderField("UserID");
+            }
+        }
+
+        private HttpURLConnection send(Endpoint endpoint, String method, String path, String json) throws IOException {
+            long start = System.nanoTime();
+            HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+            connection.setRequestMethod(method);
+            connection.setRequestProperty("Accept", "application/json");
+            if (token != null) connection.setRequestProperty("Authorization", token);
+            if (json != null) {
+                connection.setDoOutput(true);
+                connection.setRequestProperty("Content-Type", "application/json");
+                try (OutputStream body = connection.getOutputStream()) {
+                    body.write(json.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+
+            int status = connection.getResponseCode();
+            try (InputStream body = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+                if (body != null) StreamUtils.drain(body);
+            }
+            long elapsed = System.nanoTime() - start;
+
+            synchronized (this) {
+                if (status >= 200 && status < 300) {
+                    latencies.get(endpoint).recordValue(Math.min(elapsed, MAX_LATENCY_NANOS));
+                } else {
+                    errors.merge(endpoint, 1L, Long::sum);
+                }
+            }
+            return connection;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.springcoreplatform.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and latency percentiles per endpoint for one load test run, stored as JSON so a run can be kept as
+ * the baseline later runs are compared with.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class LoadReport {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private int clients;
+    private double durationSeconds;
+    private Map<String, EndpointResult> endpoints = new LinkedHashMap<>();
+
+    public static LoadReport of(int clients, long durationNanos, Map<String, Histogram> latencies, Map<String, Long> errors) {
+        LoadReport report = new LoadReport();
+        report.clients = clients;
+        report.durationSeconds = durationNanos / (double) TimeUnit.SECONDS.toNanos(1);
+
+        for (Map.Entry<String, Histogram> entry : latencies.entrySet()) {
+            Histogram histogram = entry.getValue();
+            EndpointResult result = new EndpointResult();
+            result.requests = histogram.getTotalCount();
+            result.errors = errors.getOrDefault(entry.getKey(), 0L);
+            result.throughput = result.requests / report.durationSeconds;
+            result.p50 = millis(histogram.getValueAtPercentile(50));
+            result.p90 = millis(histogram.getValueAtPercentile(90));
+            result.p99 = millis(histogram.getValueAtPercentile(99));
+            result.p999 = millis(histogram.getValueAtPercentile(99.9));
+            result.max = millis(histogram.getMaxValue());
+            report.endpoints.put(entry.getKey(), result);
+        }
+        return report;
+    }
+
+    public static LoadReport read(Path file) throws IOException {
+        return MAPPER.readValue(file.toFile(), LoadReport.class);
+    }
+
+    public void write(Path file) throws IOException {
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        MAPPER.writeValue(file.toFile(), this);
+    }
+
+    /**
+     * Every way this run is worse than the baseline: failed requests, an endpoint whose throughput fell more than
+     * {@code tolerance} below the baseline, or whose p99 rose more than {@code tolerance} above it. Endpoints that
+     * are not in the baseline are not compared. Runs with a different client count cannot be compared at all.
+     */
+    public List<String> regressionsAgainst(LoadReport baseline, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        if (clients != baseline.clients) {
+            regressions.add(String.format(Locale.ROOT, "the baseline was recorded with %d clients but this run used %d",
+                    baseline.clients, clients));
+            return regressions;
+        }
+        for (Map.Entry<String, EndpointResult> entry : endpoints.entrySet()) {
+            String endpoint = entry.getKey();
+            EndpointResult current = entry.getValue();
+            if (current.errors > 0) {
+                regressions.add(String.format(Locale.ROOT, "%s: %d failed requests", endpoint, current.errors));
+            }
+
+            EndpointResult expected = baseline.endpoints.get(endpoint);
+            if (expected == null) continue;
+            if (current.throughput < expected.throughput * (1 - tolerance)) {
+                regressions.add(String.format(Locale.ROOT, "%s: throughput %.1f/s is below baseline %.1f/s",
+                        endpoint, current.throughput, expected.throughput));
+            }
+            if (current.p99 > expected.p99 * (1 + tolerance)) {
+                regressions.add(String.format(Locale.ROOT, "%s: p99 %.2f ms is above baseline %.2f ms",
+                        endpoint, current.p99, expected.p99));
+            }
+        }
+        return regressions;
+    }
+
+    public String toTable() {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT,
+                "%d clients, %.1f s measured%n%-10s %9s %7s %10s %9s %9s %9s %9s %9s%n", clients, durationSeconds,
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (Map.Entry<String, EndpointResult> entry : endpoints.entrySet()) {
+            EndpointResult result = entry.getValue();
+            table.append(String.format(Locale.ROOT, "%-10s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(), result.requests, result.errors, result.throughput,
+                    result.p50, result.p90, result.p99, result.p999, result.max));
+        }
+        return table.toString();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class EndpointResult {
+        private long requests;
+        private long errors;
+        private double throughput;
+        private double p50;
+        private double p90;
+        private double p99;
+        private double p999;
+        private double max;
+    }
+}
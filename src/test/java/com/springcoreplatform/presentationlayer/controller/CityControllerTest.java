@@ -0,0 +1,126 @@
+package com.springcoreplatform.presentationlayer.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springcoreplatform.security.AppProperties;
+import com.springcoreplatform.security.SecurityConstants;
+import com.springcoreplatform.service.CityImportService;
+import com.springcoreplatform.service.CityService;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CityControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    AppProperties appProperties;
+
+    @Autowired
+    CityService cityService;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @MockBean
+    CityImportService cityImportService;
+
+    String authorization;
+
+    @BeforeEach
+    void setUp() {
+        authorization = SecurityConstants.TOKEN_PREFIX + Jwts.builder()
+                .setSubject("cities@test.com")
+                .setExpiration(new Date(System.currentTimeMillis() + SecurityConstants.EXPIRATION_TIME))
+                .signWith(SignatureAlgorithm.HS512, appProperties.getSigningKey())
+                .compact();
+    }
+
+    @Test
+    void getCities_ServesPreEncodedJsonWithStrongEtag() throws Exception {
+
+        MvcResult result = mockMvc.perform(get("/city").header(SecurityConstants.HEADER_STRING, authorization))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE))
+                .andReturn();
+        String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertTrue(etag.startsWith("\"") && etag.endsWith("\""));
+        assertEquals(objectMapper.writeValueAsString(cityService.getCities()), result.getResponse().getContentAsString());
+
+        mockMvc.perform(get("/city").header(SecurityConstants.HEADER_STRING, authorization)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getCities_GzipAndXmlAreSeparateVariants() throws Exception {
+
+        MvcResult identity = mockMvc.perform(get("/city").header(SecurityConstants.HEADER_STRING, authorization))
+                .andReturn();
+        MvcResult gzipped = mockMvc.perform(get("/city").header(SecurityConstants.HEADER_STRING, authorization)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "br, gzip"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+        MvcResult xml = mockMvc.perform(get("/city").header(SecurityConstants.HEADER_STRING, authorization)
+                        .accept(MediaType.APPLICATION_XML))
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_XML_VALUE))
+                .andReturn();
+
+        byte[] unzipped = StreamUtils.copyToByteArray(
+                new GZIPInputStream(new ByteArrayInputStream(gzipped.getResponse().getContentAsByteArray())));
+        assertArrayEquals(identity.getResponse().getContentAsByteArray(), unzipped);
+
+        String etag = identity.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, gzipped.getResponse().getHeader(HttpHeaders.ETAG));
+        assertNotEquals(etag, xml.getResponse().getHeader(HttpHeaders.ETAG));
+        assertTrue(xml.getResponse().getContentAsString().startsWith("<List>"));
+    }
+
+    @Test
+    void uploadFile_ImportPoolFull_KeepsFileAndAsksToRetry() throws Exception {
+
+        when(cityImportService.startImport(any(), any()))
+                .thenThrow(new RejectedExecutionException("Too many city imports in progress, please retry later."));
+        MockMultipartFile file = new MockMultipartFile("file", "cities.csv", "text/csv",
+                "41,N,80,W,Youngstown,OH\n".getBytes(StandardCharsets.UTF_8));
+
+        MvcResult result = mockMvc.perform(multipart("/city/upload").file(file)
+                        .header(SecurityConstants.HEADER_STRING, authorization))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andReturn();
+
+        assertTrue(result.getResponse().getContentAsString().contains("Uploaded the file successfully"));
+    }
+}
@@ -0,0 +1,101 @@
+package com.springcoreplatform.presentationlayer.controller;
+
+import com.springcoreplatform.security.AppProperties;
+import com.springcoreplatform.security.SecurityConstants;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "files.root=target/test-uploads")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class FileControllerTest {
+
+    private static final byte[] CONTENT = "0123456789abcdefghijklmnopqrstuvwxyz".getBytes(StandardCharsets.US_ASCII);
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    AppProperties appProperties;
+
+    String authorization;
+    String location;
+    String etag;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        authorization = SecurityConstants.TOKEN_PREFIX + Jwts.builder()
+                .setSubject("files@test.com")
+                .setExpiration(new Date(System.currentTimeMillis() + SecurityConstants.EXPIRATION_TIME))
+                .signWith(SignatureAlgorithm.HS512, appProperties.getSigningKey())
+                .compact();
+
+        MvcResult upload = mockMvc.perform(post("/files")
+                        .header(SecurityConstants.HEADER_STRING, authorization)
+                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"alphabet.txt\"")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(CONTENT))
+                .andReturn();
+        String body = upload.getResponse().getContentAsString();
+        String id = body.replaceAll(".*\"id\":(\\d+).*", "$1");
+        location = "/files/" + id;
+        etag = "\"" + body.replaceAll(".*\"contentHash\":\"([0-9a-f]+)\".*", "$1") + "\"";
+    }
+
+    @Test
+    void download_ServesWholeFileWithStrongEtag() throws Exception {
+
+        MvcResult result = mockMvc.perform(get(location).header(SecurityConstants.HEADER_STRING, authorization))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andReturn();
+
+        assertArrayEquals(CONTENT, result.getResponse().getContentAsByteArray());
+
+        mockMvc.perform(get(location).header(SecurityConstants.HEADER_STRING, authorization)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"other\", " + etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void download_ServesSingleRanges() throws Exception {
+
+        MvcResult result = mockMvc.perform(get(location).header(SecurityConstants.HEADER_STRING, authorization)
+                        .header(HttpHeaders.RANGE, "bytes=10-15"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 10-15/" + CONTENT.length))
+                .andReturn();
+        assertArrayEquals(Arrays.copyOfRange(CONTENT, 10, 16), result.getResponse().getContentAsByteArray());
+
+        mockMvc.perform(get(location).header(SecurityConstants.HEADER_STRING, authorization)
+                        .header(HttpHeaders.RANGE, "bytes=" + CONTENT.length + "-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + CONTENT.length));
+
+        mockMvc.perform(get(location).header(SecurityConstants.HEADER_STRING, authorization)
+                        .header(HttpHeaders.RANGE, "bytes=10-15")
+                        .header(HttpHeaders.IF_RANGE, "\"stale\""))
+                .andExpect(status().isOk());
+    }
+}
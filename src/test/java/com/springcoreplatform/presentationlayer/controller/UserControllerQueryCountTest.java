@@ -0,0 +1,117 @@
+package com.springcoreplatform.presentationlayer.controller;
+
+import com.springcoreplatform.io.repositories.UserRepository;
+import com.springcoreplatform.metrics.QueryCountFilter;
+import com.springcoreplatform.metrics.QueryCounter;
+import com.springcoreplatform.security.AppProperties;
+import com.springcoreplatform.security.SecurityConstants;
+import com.springcoreplatform.service.UserService;
+import com.springcoreplatform.shared.dto.UserDto;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.Date;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Upper bounds on the SQL statements of the user endpoints, read from the {@code X-Query-Count} header.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserControllerQueryCountTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    AppProperties appProperties;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    UserRepository userRepository;
+
+    String authorization;
+
+    @BeforeEach
+    void setUp() {
+        authorization = SecurityConstants.TOKEN_PREFIX + Jwts.builder()
+                .setSubject("budget@test.com")
+                .setExpiration(new Date(System.currentTimeMillis() + SecurityConstants.EXPIRATION_TIME))
+                .signWith(SignatureAlgorithm.HS512, appProperties.getSigningKey())
+                .compact();
+    }
+
+    @Test
+    void createUser_AtMostOneStatement() throws Exception {
+
+        assertStatements(post("/users").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"A\",\"lastName\":\"B\",\"email\":\"budget-create@test.com\",\"password\":\"pw\"}"), 1);
+    }
+
+    @Test
+    void getUser_AtMostOneStatement() throws Exception {
+
+        UserDto user = userService.createUser(user("budget-get@test.com"));
+
+        assertStatements(get("/users/" + user.getUserId()).header(SecurityConstants.HEADER_STRING, authorization), 1);
+        assertStatements(get("/users").param("limit", "10").header(SecurityConstants.HEADER_STRING, authorization), 1);
+    }
+
+    @Test
+    void deleteUser_AtMostTwoStatements() throws Exception {
+
+        UserDto user = userService.createUser(user("budget-delete@test.com"));
+
+        assertStatements(delete("/users/" + user.getUserId()).header(SecurityConstants.HEADER_STRING, authorization), 2);
+    }
+
+    @Test
+    void repeatedStatement_IsReportedAsNPlusOne() {
+
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            for (int i = 0; i < 5; i++) {
+                userRepository.findByEmail("missing" + i + "@test.com");
+            }
+
+            assertEquals(5, scope.getCount());
+            Map<String, Integer> repeated = scope.getRepeatedStatements(5);
+            assertEquals(1, repeated.size());
+            assertEquals(5, repeated.values().iterator().next());
+            assertTrue(scope.getRepeatedStatements(6).isEmpty());
+        }
+    }
+
+    private void assertStatements(RequestBuilder request, int maxStatements) throws Exception {
+        String header = mockMvc.perform(request).andReturn().getResponse().getHeader(QueryCountFilter.QUERY_COUNT_HEADER);
+
+        assertNotNull(header);
+        assertTrue(Integer.parseInt(header) <= maxStatements,
+                "expected at most " + maxStatements + " statements but was " + header);
+    }
+
+    private static UserDto user(String email) {
+        UserDto userDto = new UserDto();
+        userDto.setFirstName("Query");
+        userDto.setLastName("Count");
+        userDto.setEmail(email);
+        userDto.setPassword("password");
+        return userDto;
+    }
+}
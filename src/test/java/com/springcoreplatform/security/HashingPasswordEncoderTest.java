@@ -0,0 +1,97 @@
+package com.springcoreplatform.security;
+
+import com.springcoreplatform.exceptions.PasswordHashingBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashingPasswordEncoderTest {
+
+    HashingPasswordEncoder encoder = new HashingPasswordEncoder(new PasswordHashingPolicy(5, 250), 1, 1);
+
+    @AfterEach
+    void tearDown() {
+        encoder.destroy();
+    }
+
+    @Test
+    void encode_UsesPolicyVersion() {
+
+        String encoded = encoder.encode("secret");
+
+        assertTrue(encoded.startsWith("{bcrypt}$2a$05$"));
+        assertTrue(encoder.matches("secret", encoded));
+        assertFalse(encoder.matches("other", encoded));
+        assertFalse(encoder.upgradeEncoding(encoded));
+    }
+
+    @Test
+    void olderHashes_MatchAndNeedUpgrade() {
+
+        String legacy = new BCryptPasswordEncoder(5).encode("secret");
+        String weaker = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("secret");
+
+        assertTrue(encoder.matches("secret", legacy));
+        assertTrue(encoder.upgradeEncoding(legacy));
+        assertTrue(encoder.matches("secret", weaker));
+        assertTrue(encoder.upgradeEncoding(weaker));
+    }
+
+    @Test
+    void saturatedPool_RejectsWork() throws Exception {
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        encoder.bindTo(registry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CharSequence blockingPassword = new CharSequence() {
+            @Override
+            public String toString() {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "secret";
+            }
+
+            @Override
+            public int length() {
+                return 6;
+            }
+
+            @Override
+            public char charAt(int index) {
+                return "secret".charAt(index);
+            }
+
+            @Override
+            public CharSequence subSequence(int start, int end) {
+                return "secret".subSequence(start, end);
+            }
+        };
+        String encoded = new BCryptPasswordEncoder(4).encode("secret");
+
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches(blockingPassword, encoded));
+        started.await();
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("secret", encoded));
+        while (registry.get("executor.queued").tag("name", "password.hashing").gauge().value() < 1) {
+            Thread.sleep(1);
+        }
+
+        try {
+            assertThrows(PasswordHashingBusyException.class, () -> encoder.encode("secret"));
+        } finally {
+            release.countDown();
+        }
+        assertTrue(running.get());
+        assertTrue(queued.get());
+    }
+}
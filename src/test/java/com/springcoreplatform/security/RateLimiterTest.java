@@ -0,0 +1,56 @@
+package com.springcoreplatform.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    RateLimiter limiter = new RateLimiter("test", 1.0 / 60, 3, 2, Duration.ofMinutes(10));
+
+    @Test
+    void burst_ThenRejectedWithWait() {
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        }
+
+        long waitNanos = limiter.tryAcquire("10.0.0.1");
+        assertTrue(waitNanos > TimeUnit.SECONDS.toNanos(50) && waitNanos <= TimeUnit.SECONDS.toNanos(60));
+        assertEquals(0, limiter.tryAcquire("10.0.0.2"));
+        assertEquals(4, limiter.getAllowed());
+        assertEquals(1, limiter.getRejected());
+    }
+
+    @Test
+    void concurrentClients_NeverExceedBurst() throws Exception {
+
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger allowed = new AtomicInteger();
+        CompletableFuture<?>[] workers = new CompletableFuture<?>[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = CompletableFuture.runAsync(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < 100; i++) {
+                    if (limiter.tryAcquire("10.0.0.1") == 0) allowed.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        CompletableFuture.allOf(workers).get(10, TimeUnit.SECONDS);
+
+        assertEquals(3, allowed.get());
+        assertEquals(threads * 100 - 3, limiter.getRejected());
+    }
+}
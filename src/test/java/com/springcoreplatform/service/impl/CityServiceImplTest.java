@@ -0,0 +1,94 @@
+package com.springcoreplatform.service.impl;
+
+import com.springcoreplatform.io.entity.CityEntity;
+import com.springcoreplatform.io.repositories.CityRepository;
+import com.springcoreplatform.metrics.CityDataHealthIndicator;
+import com.springcoreplatform.shared.dto.CityDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+
+class CityServiceImplTest {
+
+    @InjectMocks
+    CityServiceImpl cityServiceImpl;
+
+    @Mock
+    CityRepository cityRepository;
+
+    CountDownLatch releaseLoad = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        cityServiceImpl.applicationStartup = ApplicationStartup.DEFAULT;
+        cityServiceImpl.defaultBatchSize = 500;
+
+        Mockito.when(cityRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            releaseLoad.await(10, TimeUnit.SECONDS);
+            return Collections.emptyList();
+        });
+        Mockito.when(cityRepository.save(any(CityEntity.class))).thenAnswer(invocation -> {
+            CityEntity cityEntity = invocation.getArgument(0);
+            cityEntity.setId(1L);
+            return cityEntity;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseLoad.countDown();
+    }
+
+    @Test
+    void backgroundLoad_GatesReadinessAndWrites() throws Exception {
+
+        cityServiceImpl.backgroundLoad = true;
+        CityDataHealthIndicator health = new CityDataHealthIndicator(cityServiceImpl);
+
+        cityServiceImpl.init();
+        CompletableFuture<CityDto> added = CompletableFuture.supplyAsync(() -> cityServiceImpl.addCity(
+                CityDto.builder().latD("41.1").ns("N").longD("80.6").ew("W").city("Added").state("OH").build()));
+
+        assertFalse(cityServiceImpl.isDatasetLoaded());
+        assertEquals(Status.OUT_OF_SERVICE, health.health().getStatus());
+        assertThrows(TimeoutException.class, () -> added.get(200, TimeUnit.MILLISECONDS));
+        Mockito.verify(cityRepository, Mockito.never()).save(any(CityEntity.class));
+
+        releaseLoad.countDown();
+
+        assertEquals("Added", added.get(10, TimeUnit.SECONDS).getCity());
+        assertTrue(cityServiceImpl.isDatasetLoaded());
+        assertEquals(Status.UP, health.health().getStatus());
+        assertFalse(cityServiceImpl.getCities().isEmpty());
+        assertEquals(1, cityServiceImpl.getDatasetVersion());
+        assertEquals("Added", cityServiceImpl.getNearestCities(41.1, -80.6, 1).get(0).getCity());
+    }
+
+    @Test
+    void foregroundLoad_IsReadyAfterInit() {
+
+        releaseLoad.countDown();
+        cityServiceImpl.init();
+
+        assertTrue(cityServiceImpl.isDatasetLoaded());
+        assertFalse(cityServiceImpl.getCities().isEmpty());
+    }
+}
@@ -0,0 +1,138 @@
+package com.springcoreplatform.service.impl;
+
+import com.springcoreplatform.exceptions.FileServiceException;
+import com.springcoreplatform.io.entity.FileEntity;
+import com.springcoreplatform.io.repositories.FileRepository;
+import com.springcoreplatform.shared.dto.FileDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+class FileServiceImplTest {
+
+    private static final byte[] CONTENT = "latD,ns,longD,ew,city,state\n41,N,80,W,Youngstown,OH\n".getBytes(StandardCharsets.UTF_8);
+    private static final String WRONG_HASH = "0dc8ba8e7b5d9b5ee8e3dae1d4e5a7e1a2ed1f8ac2fa8e1b58ba8dfc0b6be5d7";
+
+    @InjectMocks
+    FileServiceImpl fileServiceImpl;
+
+    @Mock
+    FileRepository fileRepository;
+
+    @TempDir
+    Path root;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        fileServiceImpl.rootDirectory = root.toString();
+        fileServiceImpl.maxSize = DataSize.ofKilobytes(1);
+        fileServiceImpl.init();
+
+        Mockito.when(fileRepository.save(any(FileEntity.class))).thenAnswer(invocation -> {
+            FileEntity saved = invocation.getArgument(0);
+            saved.setId(1L);
+            return saved;
+        });
+    }
+
+    @Test
+    void store_WritesContentUnderItsHash() throws IOException {
+
+        FileDto fileDto = fileServiceImpl.store(new ByteArrayInputStream(CONTENT), "cities.csv", "text/csv", null);
+
+        assertTrue(fileDto.isCreated());
+        assertEquals(CONTENT.length, fileDto.getSize());
+        assertEquals(root.resolve(fileDto.getContentHash()), Paths.get(fileDto.getPath()));
+        assertArrayEquals(CONTENT, Files.readAllBytes(Paths.get(fileDto.getPath())));
+        assertEquals(0, countFiles(root.resolve(".tmp")));
+    }
+
+    @Test
+    void store_SameContentIsNotStoredTwice() throws IOException {
+
+        FileDto first = fileServiceImpl.store(new ByteArrayInputStream(CONTENT), "cities.csv", "text/csv", null);
+        FileEntity stored = new FileEntity();
+        stored.setId(first.getId());
+        stored.setFileName(first.getFileName());
+        stored.setContentHash(first.getContentHash());
+        stored.setSize(first.getSize());
+        stored.setPath(first.getPath());
+        Mockito.when(fileRepository.findByContentHash(first.getContentHash())).thenReturn(stored);
+
+        FileDto second = fileServiceImpl.store(new ByteArrayInputStream(CONTENT), "copy.csv", "text/csv", null);
+
+        assertFalse(second.isCreated());
+        assertEquals("cities.csv", second.getFileName());
+        Mockito.verify(fileRepository, Mockito.times(1)).save(any(FileEntity.class));
+        assertEquals(0, countFiles(root.resolve(".tmp")));
+
+        FileDto announced = fileServiceImpl.store(new ByteArrayInputStream(CONTENT), "copy.csv", "text/csv",
+                first.getContentHash().toUpperCase());
+
+        assertFalse(announced.isCreated());
+        assertEquals(first.getId(), announced.getId());
+        assertThrows(FileServiceException.class, () -> fileServiceImpl.store(new ByteArrayInputStream(new byte[16]),
+                "guess.csv", "text/csv", first.getContentHash()));
+        assertEquals(0, countFiles(root.resolve(".tmp")));
+    }
+
+    @Test
+    void save_DuplicateMultipartIsNotWritten() throws IOException {
+
+        FileDto first = fileServiceImpl.store(new ByteArrayInputStream(CONTENT), "cities.csv", "text/csv", null);
+        FileEntity stored = new FileEntity();
+        stored.setId(first.getId());
+        stored.setFileName(first.getFileName());
+        stored.setContentHash(first.getContentHash());
+        stored.setPath(first.getPath());
+        Mockito.when(fileRepository.findByContentHash(first.getContentHash())).thenReturn(stored);
+        Path tmp = root.resolve(".tmp");
+        Files.delete(tmp);
+
+        FileDto second = fileServiceImpl.save(new MockMultipartFile("file", "copy.csv", "text/csv", CONTENT));
+
+        assertFalse(second.isCreated());
+        assertEquals(first.getId(), second.getId());
+        assertFalse(Files.exists(tmp));
+    }
+
+    @Test
+    void store_RejectsWrongDigestAndOversizedContent() throws IOException {
+
+        Mockito.when(fileRepository.findByContentHash(anyString())).thenReturn(null);
+
+        assertThrows(FileServiceException.class, () ->
+                fileServiceImpl.store(new ByteArrayInputStream(CONTENT), "cities.csv", "text/csv", WRONG_HASH));
+        assertThrows(FileServiceException.class, () ->
+                fileServiceImpl.store(new ByteArrayInputStream(new byte[2048]), "big.bin", null, null));
+
+        Mockito.verify(fileRepository, Mockito.never()).save(any(FileEntity.class));
+        assertEquals(0, countFiles(root.resolve(".tmp")));
+        assertEquals(1, countFiles(root));
+    }
+
+    private static long countFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}
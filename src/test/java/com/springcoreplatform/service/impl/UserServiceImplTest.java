@@ -9,8 +9,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
+import java.time.Duration;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
 
@@ -22,6 +25,9 @@ class UserServiceImplTest {
     @Mock
     UserRepository userRepository;
 
+    @Spy
+    UserCache userCache = new UserCache(100, Duration.ofMinutes(1));
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
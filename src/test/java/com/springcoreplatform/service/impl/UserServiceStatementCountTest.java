@@ -0,0 +1,175 @@
+package com.springcoreplatform.service.impl;
+
+import com.springcoreplatform.exceptions.UserServiceException;
+import com.springcoreplatform.security.UserPrincipal;
+import com.springcoreplatform.service.UserService;
+import com.springcoreplatform.shared.dto.UserDto;
+import com.springcoreplatform.shared.dto.UserPageDto;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Counts the JDBC statements each user operation sends, using Hibernate statistics on an in-memory H2 database.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserServiceStatementCountTest {
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void createUser_IsOneInsert() {
+
+        UserDto created = count(() -> userService.createUser(user("create@test.com")), 1);
+
+        assertNotNull(created.getUserId());
+    }
+
+    @Test
+    void createUser_DuplicateEmailIsRejectedByConstraint() {
+
+        userService.createUser(user("duplicate@test.com"));
+
+        statistics.clear();
+        assertThrows(UserServiceException.class, () -> userService.createUser(user("duplicate@test.com")));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void createUser_OtherViolationIsNotReportedAsDuplicate() {
+
+        UserDto user = user("too-long@test.com");
+        user.setFirstName(new String(new char[51]).replace('\0', 'x'));
+
+        assertThrows(DataIntegrityViolationException.class, () -> userService.createUser(user));
+    }
+
+    @Test
+    void lookups_AreOneSelectThenCached() {
+
+        UserDto created = userService.createUser(user("lookup@test.com"));
+
+        count(() -> userService.getUserByUserId(created.getUserId()), 1);
+        count(() -> userService.getUserByUserId(created.getUserId()), 0);
+        count(() -> userService.getUser("lookup@test.com"), 0);
+        UserPrincipal principal = count(() -> (UserPrincipal) userService.loadUserByUsername("lookup@test.com"), 0);
+        assertEquals(created.getUserId(), principal.getUserId());
+    }
+
+    @Test
+    void updateUser_IsSelectAndUpdate() {
+
+        UserDto created = userService.createUser(user("update@test.com"));
+        userService.getUserByUserId(created.getUserId());
+        UserDto changes = user("update@test.com");
+        changes.setFirstName("Jane");
+
+        UserDto updated = count(() -> userService.updateUser(created.getUserId(), changes), 2);
+
+        assertEquals("Jane", updated.getFirstName());
+        assertEquals("Jane", userService.getUserByUserId(created.getUserId()).getFirstName());
+        assertEquals("Jane", userService.getUser("update@test.com").getFirstName());
+    }
+
+    @Test
+    void deleteUser_IsOneDelete() {
+
+        UserDto created = userService.createUser(user("delete@test.com"));
+        userService.getUser("delete@test.com");
+
+        count(() -> {
+            userService.deleteUser(created.getUserId());
+            return null;
+        }, 1);
+        assertThrows(RuntimeException.class, () -> userService.getUserByUserId(created.getUserId()));
+        assertThrows(RuntimeException.class, () -> userService.getUser("delete@test.com"));
+    }
+
+    @Test
+    void getUsers_IsOneSelectPerPageWithoutCount() {
+
+        for (int i = 0; i < 5; i++) {
+            userService.createUser(user("page" + i + "@test.com"));
+        }
+
+        Set<String> emails = new HashSet<>();
+        long lastId = 0;
+        String cursor = null;
+        do {
+            String after = cursor;
+            UserPageDto page = count(() -> userService.getUsers(after, 2), 1);
+            for (UserDto userDto : page.getUsers()) {
+                assertTrue(userDto.getId() > lastId);
+                lastId = userDto.getId();
+                emails.add(userDto.getEmail());
+            }
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(emails.contains("page" + i + "@test.com"));
+        }
+    }
+
+    @Test
+    void login_LooksUpTheUserOnce() throws Exception {
+
+        UserDto created = userService.createUser(user("login@test.com"));
+
+        statistics.clear();
+        mockMvc.perform(post("/users/login").content("{\"email\":\"login@test.com\",\"password\":\"secret\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("UserID", created.getUserId()));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private <T> T count(Supplier<T> operation, long expectedStatements) {
+        statistics.clear();
+        T result = operation.get();
+        assertEquals(expectedStatements, statistics.getPrepareStatementCount());
+        return result;
+    }
+
+    private static UserDto user(String email) {
+        UserDto user = new UserDto();
+        user.setFirstName("John");
+        user.setLastName("Doe");
+        user.setEmail(email);
+        user.setPassword("secret");
+        return user;
+    }
+}
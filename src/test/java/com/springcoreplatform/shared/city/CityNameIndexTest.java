@@ -0,0 +1,67 @@
+package com.springcoreplatform.shared.city;
+
+import com.springcoreplatform.shared.dto.CityDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CityNameIndexTest {
+
+    CityStore store;
+
+    @BeforeEach
+    void setUp() {
+        CityStore.Builder builder = new CityStore.Builder(8);
+        String[][] cities = {{"Youngstown", "OH"}, {"yankton", "SD"}, {"Yakima", "WA"}, {"Worcester", "MA"},
+                {"York", "PA"}, {"Yuma", "AZ"}, {"Youngstown", "NY"}, {"Wisconsin Dells", "WI"}};
+        for (String[] city : cities) {
+            builder.add(41, 80, CityStore.WEST, city[0], city[1]);
+        }
+        List<CityStore.Builder> parts = new ArrayList<>();
+        parts.add(builder);
+        store = CityStore.concat(parts);
+    }
+
+    @Test
+    void search_IgnoresCaseAndReturnsNameOrder() {
+
+        CityNameIndex index = new CityNameIndex(store);
+
+        assertEquals(names("Yakima", "yankton", "York", "Youngstown", "Youngstown", "Yuma"),
+                names(index.search("Y", null, 10)));
+        assertEquals(names("York", "Youngstown"), names(index.search("yO", null, 2)));
+        assertEquals(names("Youngstown"), names(index.search("young", "ny", 10)));
+        assertTrue(index.search("Zanesville", null, 10).isEmpty());
+    }
+
+    @Test
+    void add_IsMergedInNameOrder() {
+
+        CityNameIndex index = new CityNameIndex(store);
+        CityDto added = CityDto.builder().latD("41.1").ns("N").longD("80.6").ew("W").city("Yonkers").state("NY").build();
+
+        assertTrue(index.add(added));
+        assertFalse(index.add(CityDto.builder().city("").state("NY").build()));
+
+        List<CityDto> result = index.search("yo", null, 10);
+        assertEquals(names("Yonkers", "York", "Youngstown", "Youngstown"), names(result));
+        assertSame(added, result.get(0));
+        assertEquals(names("Yonkers", "Youngstown"), names(index.search("Y", "NY", 10)));
+        assertEquals(store.size() + 1, index.size());
+    }
+
+    private static List<String> names(List<CityDto> cities) {
+        return cities.stream().map(CityDto::getCity).collect(Collectors.toList());
+    }
+
+    private static List<String> names(String... names) {
+        List<String> result = new ArrayList<>();
+        for (String name : names) result.add(name);
+        return result;
+    }
+}
@@ -0,0 +1,66 @@
+package com.springcoreplatform.shared.city;
+
+import com.springcoreplatform.shared.dto.CityDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CitySpatialIndexTest {
+
+    CityStore store;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(42);
+        CityStore.Builder builder = new CityStore.Builder(2000);
+        for (int i = 0; i < 2000; i++) {
+            float lat = random.nextFloat() * 180 - 90;
+            float lon = random.nextFloat() * 360 - 180;
+            byte flags = (byte) ((lat < 0 ? CityStore.SOUTH : 0) | (lon < 0 ? CityStore.WEST : 0));
+            builder.add(Math.abs(lat), Math.abs(lon), flags, "City" + i, i % 2 == 0 ? "AA" : "BB");
+        }
+        List<CityStore.Builder> parts = new ArrayList<>();
+        parts.add(builder);
+        store = CityStore.concat(parts);
+    }
+
+    @Test
+    void nearest_MatchesFullScan() {
+
+        CitySpatialIndex index = new CitySpatialIndex(store, 5);
+        double[][] queries = {{41, -80}, {-33.9, 151.2}, {89.5, 0}, {0, 179.9}, {-89.9, -179.9}};
+
+        for (double[] query : queries) {
+            List<CityDto> nearest = index.nearest(query[0], query[1], 7);
+
+            List<CityDto> expected = new ArrayList<>(store.asDtoList());
+            expected.sort(Comparator.comparingDouble(city -> CityCoordinates.distanceKm(query[0], query[1],
+                    CityCoordinates.latitude(city), CityCoordinates.longitude(city))));
+
+            assertEquals(7, nearest.size());
+            for (int i = 0; i < nearest.size(); i++) {
+                assertEquals(expected.get(i).getCity(), nearest.get(i).getCity());
+            }
+        }
+    }
+
+    @Test
+    void add_IsVisibleToQueries() {
+
+        CitySpatialIndex index = new CitySpatialIndex(store);
+        CityDto added = CityDto.builder().latD("41.1").ns("N").longD("80.6").ew("W").city("Added").state("OH").build();
+
+        assertTrue(index.add(added));
+        assertFalse(index.add(CityDto.builder().latD("x").ns("N").longD("1").ew("E").city("Bad").state("OH").build()));
+
+        assertSame(added, index.nearest(41.1, -80.6, 1).get(0));
+        assertTrue(index.within(41, -81, 42, -80, 100).contains(added));
+        assertEquals(store.size() + 1, index.size());
+    }
+}
@@ -0,0 +1,87 @@
+package com.springcoreplatform.shared.city;
+
+import com.springcoreplatform.shared.dto.CityDto;
+import com.springcoreplatform.shared.dto.CityStatsDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CityStatsTest {
+
+    @Test
+    void stats_CoverStoreRowsAndAddedCities() {
+
+        CityStore.Builder builder = new CityStore.Builder(3);
+        builder.add(41, 80, CityStore.WEST, "Youngstown", "OH");
+        builder.add(39, 84, CityStore.WEST, "Dayton", "OH");
+        builder.add(33, 151, CityStore.SOUTH, "Sydney", "NSW");
+        List<CityStore.Builder> parts = new ArrayList<>();
+        parts.add(builder);
+        CityStats stats = new CityStats(CityStore.concat(parts));
+
+        stats.add(CityDto.builder().latD("42").ns("N").longD("81").ew("W").city("Cleveland").state("oh").build());
+        stats.add(CityDto.builder().latD("x").ns("N").longD("1").ew("E").city("Nowhere").state("ZZ").build());
+
+        CityStatsDto dto = stats.toDto();
+        assertEquals(5, dto.getCities());
+        assertEquals(-33, dto.getMinLat(), 1e-6);
+        assertEquals(42, dto.getMaxLat(), 1e-6);
+        assertEquals(-84, dto.getMinLon(), 1e-6);
+        assertEquals(151, dto.getMaxLon(), 1e-6);
+
+        CityStatsDto ohio = dto.getStates().get("OH");
+        assertEquals(3, ohio.getCities());
+        assertEquals(39, ohio.getMinLat(), 1e-6);
+        assertEquals(42, ohio.getMaxLat(), 1e-6);
+        assertEquals(-84, ohio.getMinLon(), 1e-6);
+        assertEquals(-80, ohio.getMaxLon(), 1e-6);
+
+        assertEquals(1, dto.getStates().get("ZZ").getCities());
+        assertNull(dto.getStates().get("ZZ").getMinLat());
+    }
+
+    @Test
+    void add_CountsEveryConcurrentInsert() throws InterruptedException {
+
+        CityStats stats = new CityStats(CityStore.empty());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int thread = 0; thread < 8; thread++) {
+            int offset = thread;
+            executor.execute(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    stats.add(CityDto.builder().latD(Integer.toString(i % 90)).ns("N")
+                            .longD(Integer.toString(offset)).ew("E").city("City").state(i % 2 == 0 ? "AA" : "BB").build());
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        CityStatsDto dto = stats.toDto();
+        assertEquals(8000, dto.getCities());
+        assertEquals(4000, dto.getStates().get("AA").getCities());
+        assertEquals(89, dto.getMaxLat(), 1e-6);
+        assertEquals(7, dto.getMaxLon(), 1e-6);
+    }
+
+    @Test
+    void add_FoldsStatesPastTheCapIntoOther() {
+
+        CityStats stats = new CityStats(CityStore.empty());
+        for (int i = 0; i < CityStats.MAX_STATES + 5; i++) {
+            stats.add(CityDto.builder().latD("1").ns("N").longD("1").ew("E").city("City").state("S" + i).build());
+        }
+
+        CityStatsDto dto = stats.toDto();
+        assertEquals(CityStats.MAX_STATES + 1, dto.getStates().size());
+        assertEquals(5, dto.getStates().get(CityStats.OTHER_STATES).getCities());
+        assertEquals(CityStats.MAX_STATES + 5, dto.getCities());
+        assertSame(dto, stats.toDto());
+    }
+}
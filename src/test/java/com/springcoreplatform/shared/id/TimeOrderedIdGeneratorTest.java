@@ -0,0 +1,67 @@
+package com.springcoreplatform.shared.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedIdGeneratorTest {
+
+    TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator();
+
+    @Test
+    void generateId_IsUrlSafeAndIncreasing() throws InterruptedException {
+
+        String previous = generator.generateId();
+        for (int i = 0; i < 10000; i++) {
+            if (i == 5000) Thread.sleep(2);
+            String id = generator.generateId();
+
+            assertEquals(TimeOrderedIdGenerator.LENGTH, id.length());
+            assertTrue(id.matches("[0-9A-HJKMNP-TV-Z]+"), id);
+            assertTrue(id.compareTo(previous) > 0, previous + " >= " + id);
+            previous = id;
+        }
+    }
+
+    @Test
+    void generateId_StartsWithTimestamp() {
+
+        long before = System.currentTimeMillis();
+        String id = generator.generateId();
+        long after = System.currentTimeMillis();
+
+        long millis = 0;
+        for (char c : id.substring(0, 10).toCharArray()) {
+            millis = millis * 32 + "0123456789ABCDEFGHJKMNPQRSTVWXYZ".indexOf(c);
+        }
+        assertTrue(millis >= before && millis <= after);
+    }
+
+    @Test
+    void generateId_IsUniqueAcrossThreads() throws Exception {
+
+        // fewer stripes than threads, so threads share stripes
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(2);
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 20000; i++) ids.add(generator.generateId());
+            }));
+        }
+        for (Future<?> future : futures) future.get();
+        executor.shutdown();
+
+        assertEquals(8 * 20000, new HashSet<>(ids).size());
+    }
+}